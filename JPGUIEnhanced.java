@@ -1,35 +1,74 @@
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableColumnModel;
 import javax.swing.table.TableCellEditor;
+import javax.swing.table.TableColumn;
+import javax.swing.table.TableColumnModel;
 import java.awt.*;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.event.ActionEvent;
+import java.beans.PropertyChangeListener;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
 
 /** Drop-in UX upgrade for the decision support UI. */
 public class JPGUIEnhanced extends UserInterface {
     private static final int DEFAULT_FONT_SIZE = 13;
     private static final int MIN_RANK = 0;
     private static final int MAX_RANK = 1000;
-
-    static {
-        // Native look & feel + slightly larger default font for readability
-        try {
-            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-        } catch (Exception ignored) {}
-        UIManager.put("OptionPane.messageFont", new Font("SansSerif", Font.PLAIN, DEFAULT_FONT_SIZE));
-        UIManager.put("OptionPane.buttonFont",  new Font("SansSerif", Font.PLAIN, DEFAULT_FONT_SIZE));
-        UIManager.put("Label.font",             new Font("SansSerif", Font.PLAIN, DEFAULT_FONT_SIZE));
-        UIManager.put("TextField.font",         new Font("SansSerif", Font.PLAIN, DEFAULT_FONT_SIZE));
-        UIManager.put("List.font",              new Font("SansSerif", Font.PLAIN, DEFAULT_FONT_SIZE));
-        UIManager.put("Table.font",             new Font("SansSerif", Font.PLAIN, DEFAULT_FONT_SIZE));
-        UIManager.put("TableHeader.font",       new Font("SansSerif", Font.PLAIN, DEFAULT_FONT_SIZE));
-        UIManager.put("Spinner.font",           new Font("SansSerif", Font.PLAIN, DEFAULT_FONT_SIZE));
-        UIManager.put("Button.font",            new Font("SansSerif", Font.PLAIN, DEFAULT_FONT_SIZE));
-    }
-
-    @Override
-    public void showIntroduction() {
-        String msg = """
+    private static final int COLUMN_WIDTH = 120;
+    private static final int FITTED_COLUMNS = 6;
+    private static final int RESULTS_PAGE = 20;
+    private static final String INTRODUCTION = """
             <html>
               <h2>Decision Support Aid</h2>
               <p>This wizard helps you compare alternatives against factors, then computes a preferred choice.</p>
@@ -42,17 +81,89 @@ public class JPGUIEnhanced extends UserInterface {
               <p>You can use the keyboard (Enter to add, Delete to remove) and all numeric fields are validated.</p>
             </html>
         """;
-        JOptionPane.showMessageDialog(null, msg, "Decision Support Aid", JOptionPane.INFORMATION_MESSAGE);
+
+    private int[] factorRanks;
+    private FutureTask<Void> prewarm;
+    private ListManagerDialog warmAlternatives;
+    private ListManagerDialog warmFactors;
+
+    private static boolean lookAndFeelApplied;
+
+    /**
+     * Native look & feel + slightly larger default font for readability. Deferred to the first
+     * dialog so loading or scoring through this class never pulls in the L&F class graph.
+     */
+    private static synchronized void applyLookAndFeel() {
+        if (lookAndFeelApplied) return;
+        lookAndFeelApplied = true;
+        try {
+            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+        } catch (Exception ignored) {}
+        Font font = new Font("SansSerif", Font.PLAIN, DEFAULT_FONT_SIZE);
+        UIManager.put("OptionPane.messageFont", font);
+        UIManager.put("OptionPane.buttonFont",  font);
+        UIManager.put("Label.font",             font);
+        UIManager.put("TextField.font",         font);
+        UIManager.put("List.font",              font);
+        UIManager.put("Table.font",             font);
+        UIManager.put("TableHeader.font",       font);
+        UIManager.put("Spinner.font",           font);
+        UIManager.put("Button.font",            font);
+    }
+
+    @Override
+    public void showIntroduction() {
+        applyLookAndFeel();
+        // Build the next dialogs on the EDT while the user reads this one, queued from its first
+        // paint so the introduction is on screen before the EDT is busy with them.
+        FutureTask<Void> warm = new FutureTask<>(this::prewarm, null);
+        prewarm = warm;
+        JOptionPane pane = new JOptionPane(INTRODUCTION, JOptionPane.INFORMATION_MESSAGE) {
+            private boolean queued;
+
+            @Override protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                if (!queued) {
+                    queued = true;
+                    SwingUtilities.invokeLater(warm);
+                }
+            }
+        };
+        JDialog dialog = pane.createDialog(null, "Decision Support Aid");
+        dialog.setVisible(true);
+        dialog.dispose();
+        // A dialog closed before it ever painted still gets its pre-warm; a FutureTask runs once.
+        SwingUtilities.invokeLater(warm);
+    }
+
+    /**
+     * The AppCDS training run ({@link WizardTraining}): lays out, without showing, what the
+     * introduction and the dialogs after it are built from, so the classes they load end up in
+     * the archive. Needs no display. Runs on the EDT.
+     */
+    static void trainStartup() {
+        applyLookAndFeel();
+        new JOptionPane(INTRODUCTION, JOptionPane.INFORMATION_MESSAGE).getPreferredSize();
+        JPanel list = new JPanel(new BorderLayout(8, 8));
+        list.add(new JTextField(), BorderLayout.NORTH);
+        list.add(new JScrollPane(new JList<>(new ItemListModel(true))), BorderLayout.CENTER);
+        list.add(new JButton("Add"), BorderLayout.SOUTH);
+        list.getPreferredSize();
+        JTable table = new JTable(new Object[][] {{0.0}}, new Object[] {""});
+        table.setDefaultRenderer(Double.class, new RankRenderer());
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setRowHeaderView(new JList<String>());
+        scroll.getPreferredSize();
+        new JSpinner(new SpinnerNumberModel(0, MIN_RANK, MAX_RANK, 1)).getPreferredSize();
     }
 
     @Override
     public List<Alternative> getAlternatives() {
-        List<String> names = ListManagerDialog.collect(
-                "Alternatives",
-                "Add an alternative",
-                "Enter a name and press Add",
-                true
-        );
+        applyLookAndFeel();
+        awaitPrewarm();
+        ListManagerDialog d = warmAlternatives != null ? warmAlternatives : alternativesDialog();
+        warmAlternatives = null;
+        List<String> names = ListManagerDialog.collect(d);
         if (names.isEmpty()) {
             JOptionPane.showMessageDialog(null, "No alternatives entered.", "Error", JOptionPane.ERROR_MESSAGE);
             System.exit(2);
@@ -64,12 +175,11 @@ public class JPGUIEnhanced extends UserInterface {
 
     @Override
     public List<Factor> getFactors() {
-        List<String> names = ListManagerDialog.collect(
-                "Factors",
-                "Add a factor",
-                "Enter a factor and press Add",
-                true
-        );
+        applyLookAndFeel();
+        awaitPrewarm();
+        ListManagerDialog d = warmFactors != null ? warmFactors : factorsDialog();
+        warmFactors = null;
+        List<String> names = ListManagerDialog.collect(d);
         if (names.isEmpty()) {
             JOptionPane.showMessageDialog(null, "No factors entered.", "Error", JOptionPane.ERROR_MESSAGE);
             System.exit(2);
@@ -81,10 +191,13 @@ public class JPGUIEnhanced extends UserInterface {
 
     @Override
     public void getFactorRankings(final List<Factor> factorList, final int standard) {
+        factorRanks = new int[factorList.size()];
+        Arrays.fill(factorRanks, standard);
         if (factorList.size() == 1) {
             factorList.get(0).setRank(standard);
             return;
         }
+        applyLookAndFeel();
         // Last factor is baseline; you can change this if you prefer a dropdown for baseline choice.
         int baselineIndex = factorList.size() - 1;
         String header = "<html><h3>Factor Importances</h3>"
@@ -115,23 +228,49 @@ public class JPGUIEnhanced extends UserInterface {
         for (int i = 0; i < factorList.size(); i++) {
             int val = (int) spinners.get(i).getValue();
             factorList.get(i).setRank(val);
+            factorRanks[i] = val;
         }
     }
 
+    /**
+     * Scores each alternative (row of {@code crossRankings}) against the factor importances
+     * collected by {@link #getFactorRankings}.
+     */
+    public double[] scoreAlternatives(double[][] crossRankings) {
+        if (factorRanks == null) throw new IllegalStateException("Factor rankings have not been collected yet");
+        return Scorer.score(crossRankings, factorRanks);
+    }
+
+    /**
+     * Same as {@link #scoreAlternatives(double[][])} but splits the rows across a fork-join pool
+     * of the given parallelism. Each row is scored by the same kernel, so results are identical.
+     */
+    public double[] scoreAlternatives(double[][] crossRankings, int parallelism) {
+        if (factorRanks == null) throw new IllegalStateException("Factor rankings have not been collected yet");
+        return Scorer.scoreParallel(crossRankings, factorRanks, parallelism);
+    }
+
     @Override
     public double[][] getCrossRankings(final List<Alternative> alternatives,
                                        final List<Factor> factors,
                                        final int standard) {
+        applyLookAndFeel();
         // Matrix with spinners; first alternative fixed at "standard" for every factor.
-        double[][] data = new double[alternatives.size()][factors.size()];
-        for (int j = 0; j < factors.size(); j++) data[0][j] = standard;
+        Matrix data = openCrossMatrix(alternatives, factors, standard);
 
         String lead = "<html><h3>Rate Alternatives per Factor</h3>"
                 + "For each factor, the first alternative is anchored at <b>" + standard + "</b>.<br>"
                 + "Higher values are more desirable.</html>";
 
-        JTable table = new JTable(new CrossModel(alternatives, factors, data, standard));
+        CrossModel crossModel = new CrossModel(alternatives, factors, data, standard);
+        // A session file is durable already; otherwise journal edits so a crash loses nothing.
+        EditJournal journal = data instanceof MappedMatrix ? null : openJournal(crossModel, alternatives, factors);
+        JTable table = new JTable(crossModel, fixedWidthColumns(factors));
         table.setRowHeight(26);
+        if (factors.size() > FITTED_COLUMNS) {
+            // Let wide matrices scroll; JTable then only paints the columns inside the viewport.
+            table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+        }
         // Set JSpinner editor for numeric cells (except anchored baseline)
         SpinnerNumberModel numModel = new SpinnerNumberModel(standard, 0, MAX_RANK, 1);
         JSpinner spinner = new JSpinner(numModel);
@@ -150,78 +289,341 @@ public class JPGUIEnhanced extends UserInterface {
                 return ((Number) sp.getValue()).doubleValue();
             }
         };
-        // Apply editor to editable cells
-        for (int c = 0; c < table.getColumnCount(); c++) {
-            table.getColumnModel().getColumn(c).setPreferredWidth(120);
-        }
         table.setDefaultEditor(Double.class, spinnerEditor);
-        table.setDefaultRenderer(Double.class, table.getDefaultRenderer(Object.class));
+        table.setDefaultRenderer(Double.class, new RankRenderer());
+
+        JPanel north = new JPanel(new BorderLayout(8,8));
+        north.add(new JLabel(lead), BorderLayout.CENTER);
+        north.add(matrixFileButtons(crossModel, factors, standard), BorderLayout.SOUTH);
 
         JPanel panel = new JPanel(new BorderLayout(8,8));
-        panel.add(new JLabel(lead), BorderLayout.NORTH);
-        panel.add(new JScrollPane(table,
+        panel.add(north, BorderLayout.NORTH);
+        JScrollPane scroll = new JScrollPane(table,
                 ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
-                ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED), BorderLayout.CENTER);
+                ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED);
+        scroll.setRowHeaderView(alternativeHeader(alternatives, table));
+        panel.add(scroll, BorderLayout.CENTER);
 
-        int res = JOptionPane.showConfirmDialog(null, panel, "Cross-Rankings", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        int res;
+        do {
+            res = JOptionPane.showConfirmDialog(null, panel, "Cross-Rankings", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+            // OK waits for a running import; if the user stops it instead, it is undone and they can review.
+        } while (res == JOptionPane.OK_OPTION && !awaitImport(crossModel));
         if (res != JOptionPane.OK_OPTION) {
-            // If canceled, default everything to the standard:
-            for (int r = 0; r < alternatives.size(); r++) {
-                for (int c = 0; c < factors.size(); c++) data[r][c] = standard;
+            // If canceled, default everything to the standard (a session file keeps the edits,
+            // the journal does not: they were discarded, so a later run must not recover them):
+            crossModel.stopLoading();
+            crossModel.flush();
+            if (journal != null) journal.close();
+            double[][] out = new double[alternatives.size()][factors.size()];
+            for (double[] row : out) Arrays.fill(row, standard);
+            return out;
+        }
+        // Hand the model's storage over to the caller; the dialog is done with it.
+        if (journal != null) journal.close();
+        return crossModel.release();
+    }
+
+    /**
+     * Waits for a CSV import still streaming into {@code model}, behind a modal prompt that
+     * closes by itself when the import ends. False if the user stopped the import instead.
+     */
+    private static boolean awaitImport(CrossModel model) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            // On the EDT the loading check and the dialog cannot miss the loader finishing.
+            boolean[] finished = new boolean[1];
+            try {
+                SwingUtilities.invokeAndWait(() -> finished[0] = awaitImport(model));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException(e.getCause());
             }
-            return data;
+            return finished[0];
         }
-        // Pull values from table model
-        CrossModel model = (CrossModel) table.getModel();
-        return model.copyData();
+        SwingWorker<?, ?> loader = model.loader();
+        if (loader == null) return true;
+        JOptionPane pane = new JOptionPane("<html>The CSV import is still running.<br>"
+                + "The ratings are handed over once it finishes.</html>",
+                JOptionPane.INFORMATION_MESSAGE, JOptionPane.DEFAULT_OPTION, null, new Object[] {"Stop import"});
+        JDialog dialog = pane.createDialog("Import in progress");
+        // The loader's state turns DONE after its done() has ended the stream on the model.
+        PropertyChangeListener closer = e -> {
+            if (model.loader() == null) dialog.dispose();
+        };
+        loader.addPropertyChangeListener(closer);
+        dialog.setVisible(true);
+        loader.removePropertyChangeListener(closer);
+        if (model.loader() == null) return true;
+        model.stopLoading();
+        return false;
     }
 
     @Override
     public void showResults(final List<Alternative> alternatives) {
         // Assumes caller already sorted best→worst. We’ll render a tidy summary.
+        showResultsTable(ResultsModel.sorted(alternatives));
+    }
+
+    /**
+     * Shows results for an unsorted list, ranked by {@code scores[i]} for {@code alternatives.get(i)}.
+     * Only the rows scrolled into view are selected; the list is never fully sorted up front.
+     */
+    public void showTopResults(final List<Alternative> alternatives, final double[] scores) {
+        if (scores.length != alternatives.size()) {
+            throw new IllegalArgumentException(scores.length + " scores for " + alternatives.size() + " alternatives");
+        }
+        showResultsTable(ResultsModel.ranked(alternatives, scores));
+    }
+
+    /** HTML heading naming the preferred choice above the results table. */
+    static String resultsHeading(ResultsModel model) {
         StringBuilder sb = new StringBuilder("<html><h3>Decider Results</h3>");
-        if (!alternatives.isEmpty()) {
-            sb.append("<p>Preferred choice: <b>").append(esc(alternatives.get(0).getDescriptor())).append("</b></p>");
+        if (model.getRowCount() > 0) {
+            sb.append("<p>Preferred choice: <b>").append(esc(model.alternativeAt(0).getDescriptor())).append("</b></p>");
         }
-        sb.append("<table border='0' cellspacing='2' cellpadding='2'>");
-        for (Alternative a : alternatives) {
-            sb.append("<tr><td>").append(esc(a.getDescriptor())).append("</td>");
+        return sb.append("</html>").toString();
+    }
+
+    private void showResultsTable(ResultsModel model) {
+        applyLookAndFeel();
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.getColumnModel().getColumn(0).setMaxWidth(60);
+        table.setPreferredScrollableViewportSize(new Dimension(420,
+                Math.max(1, Math.min(model.getRowCount(), RESULTS_PAGE)) * table.getRowHeight()));
+
+        JPanel panel = new JPanel(new BorderLayout(8,8));
+        panel.add(new JLabel(resultsHeading(model)), BorderLayout.NORTH);
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        JOptionPane.showMessageDialog(null, panel, "Results", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    // ---------- Helpers ----------
+
+    private static ListManagerDialog alternativesDialog() {
+        return new ListManagerDialog("Alternatives", "Add an alternative", "Enter a name and press Add", true);
+    }
+
+    private static ListManagerDialog factorsDialog() {
+        return new ListManagerDialog("Factors", "Add a factor", "Enter a factor and press Add", true);
+    }
+
+    /** Import/Export buttons for the cross-rankings matrix plus factor importances. */
+    private JPanel matrixFileButtons(CrossModel model, List<Factor> factors, int standard) {
+        JButton importBtn = new JButton("Import…");
+        JButton exportBtn = new JButton("Export…");
+        importBtn.setToolTipText("Load ratings and factor importances from a .jpgm or .csv file");
+        exportBtn.setToolTipText("Save ratings and factor importances (.jpgm binary, or .csv)");
+        importBtn.addActionListener(e -> {
+            Path file = chooseMatrixFile(importBtn, false);
+            if (file == null) return;
+            int[] ranks = currentRanks(factors.size(), standard);
+            if (!MatrixFile.isBinary(file)) {
+                // Stream CSV in the background; rows become editable as they arrive.
+                importBtn.setEnabled(false);
+                exportBtn.setEnabled(false);
+                new CsvLoader(file, model, ranks, failure -> {
+                    importBtn.setEnabled(true);
+                    exportBtn.setEnabled(true);
+                    if (failure == null) {
+                        applyRanks(factors, ranks);
+                    } else if (!(failure instanceof CancellationException)) {
+                        JOptionPane.showMessageDialog(importBtn, "Could not import " + file + ":\n" + failure.getMessage(),
+                                "Import failed", JOptionPane.WARNING_MESSAGE);
+                    }
+                }).start();
+                return;
+            }
+            try {
+                MatrixFile.load(file, model, ranks);
+                applyRanks(factors, ranks);
+            } catch (IOException | RuntimeException ex) {
+                JOptionPane.showMessageDialog(importBtn, "Could not import " + file + ":\n" + ex.getMessage(),
+                        "Import failed", JOptionPane.WARNING_MESSAGE);
+            }
+        });
+        exportBtn.addActionListener(e -> {
+            Path file = chooseMatrixFile(exportBtn, true);
+            if (file == null) return;
+            try {
+                MatrixFile.save(file, model, currentRanks(factors.size(), standard));
+            } catch (IOException | RuntimeException ex) {
+                JOptionPane.showMessageDialog(exportBtn, "Could not export " + file + ":\n" + ex.getMessage(),
+                        "Export failed", JOptionPane.WARNING_MESSAGE);
+            }
+        });
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 0));
+        buttons.add(importBtn);
+        buttons.add(exportBtn);
+        return buttons;
+    }
+
+    private void applyRanks(List<Factor> factors, int[] ranks) {
+        for (int i = 0; i < factors.size(); i++) factors.get(i).setRank(ranks[i]);
+        factorRanks = ranks;
+    }
+
+    private int[] currentRanks(int count, int standard) {
+        if (factorRanks != null && factorRanks.length == count) return factorRanks.clone();
+        int[] ranks = new int[count];
+        Arrays.fill(ranks, standard);
+        return ranks;
+    }
+
+    private static Path chooseMatrixFile(Component parent, boolean save) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Decision matrices (.jpgm, .csv)", "jpgm", "csv"));
+        int res = save ? chooser.showSaveDialog(parent) : chooser.showOpenDialog(parent);
+        if (res != JFileChooser.APPROVE_OPTION) return null;
+        Path file = chooser.getSelectedFile().toPath();
+        if (save && !file.getFileName().toString().contains(".")) file = file.resolveSibling(file.getFileName() + ".jpgm");
+        return file;
+    }
+
+    /**
+     * Storage for the cross-rankings step. With {@code -Djpgui.session=<file>} the matrix lives in
+     * that memory-mapped file, so edits survive cancel or a crash and reopening the same study
+     * picks them up; otherwise it is an in-memory matrix.
+     */
+    private static Matrix openCrossMatrix(List<Alternative> alternatives, List<Factor> factors, int standard) {
+        String session = System.getProperty("jpgui.session");
+        if (session != null) {
             try {
-                // If Alternative has getScore(), show it; otherwise just list the name
-                double score = (double) Alternative.class.getMethod("getScore").invoke(a);
-                sb.append("<td style='padding-left:16px'>(score: ").append(String.format("%.4f", score)).append(")</td>");
-            } catch (Exception ignore) {
-                sb.append("<td></td>");
+                return MappedMatrix.open(Paths.get(session), alternatives.size(), factors.size(),
+                        fingerprint(alternatives, factors), standard,
+                        reason -> JOptionPane.showConfirmDialog(null, "Session file " + session + " " + reason
+                                + ".\nDiscard its ratings and start this study over in it?", "Session",
+                                JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE) == JOptionPane.YES_OPTION);
+            } catch (IOException | RuntimeException e) {
+                JOptionPane.showMessageDialog(null, "Could not open session file " + session + ":\n" + e.getMessage()
+                        + "\nContinuing without it.", "Session", JOptionPane.WARNING_MESSAGE);
             }
-            sb.append("</tr>");
         }
-        sb.append("</table></html>");
-        JOptionPane.showMessageDialog(null, sb.toString(), "Results", JOptionPane.INFORMATION_MESSAGE);
+        return Matrix.filled(alternatives.size(), factors.size(), standard);
     }
 
-    // ---------- Helpers ----------
+    /**
+     * Opens (and replays) the edit journal for this study under {@code -Djpgui.journal.dir},
+     * by default {@code ~/.jpgui}: a private directory that, unlike the temp directory, survives
+     * a reboot. Returns null if journaling is unavailable.
+     */
+    private static EditJournal openJournal(CrossModel model, List<Alternative> alternatives, List<Factor> factors) {
+        long fingerprint = fingerprint(alternatives, factors);
+        String dir = System.getProperty("jpgui.journal.dir");
+        Path file = (dir != null ? Paths.get(dir) : Paths.get(System.getProperty("user.home"), ".jpgui"))
+                .resolve(String.format("jpgui-%016x.journal", fingerprint));
+        try {
+            return EditJournal.open(file, model, fingerprint, failure -> JOptionPane.showMessageDialog(null,
+                    "Could not write edit journal " + file + ":\n" + failure.getMessage()
+                            + "\nAutosave has stopped; further edits will not be recovered after a crash.",
+                    "Autosave", JOptionPane.WARNING_MESSAGE));
+        } catch (IOException | RuntimeException e) {
+            JOptionPane.showMessageDialog(null, "Could not open edit journal " + file + ":\n" + e.getMessage()
+                    + "\nEdits will not be autosaved.", "Autosave", JOptionPane.WARNING_MESSAGE);
+            return null;
+        }
+    }
+
+    /** 64-bit FNV-1a over the alternative and factor names, identifying a study's layout. */
+    static long fingerprint(List<Alternative> alternatives, List<Factor> factors) {
+        long h = 0xcbf29ce484222325L;
+        for (Alternative a : alternatives) h = fnv(fnv(h, a.getDescriptor()), "\n");
+        h = fnv(h, "\u0000");
+        for (Factor f : factors) h = fnv(fnv(h, f.getName()), "\n");
+        return h;
+    }
+
+    private static long fnv(long h, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /** Runs on the EDT behind the introduction: realizes the list dialogs and loads the table/spinner UI classes. */
+    private void prewarm() {
+        warmAlternatives = realize(alternativesDialog());
+        warmFactors = realize(factorsDialog());
+        JTable table = new JTable(new Object[][] {{0.0}}, new Object[] {""});
+        table.setDefaultRenderer(Double.class, new RankRenderer());
+        new JScrollPane(table).setRowHeaderView(new JList<String>());
+        new JSpinner(new SpinnerNumberModel(0, MIN_RANK, MAX_RANK, 1));
+    }
+
+    private static ListManagerDialog realize(ListManagerDialog d) {
+        d.addNotify();  // create the native peer without showing it
+        d.validate();
+        return d;
+    }
+
+    /** Waits for (or, on the EDT, finishes) the pre-warm started by showIntroduction, if any. */
+    private void awaitPrewarm() {
+        if (prewarm == null) return;
+        if (SwingUtilities.isEventDispatchThread()) prewarm.run(); // no-op if it already ran
+        try {
+            prewarm.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+            // Fall back to building the dialogs cold.
+        }
+    }
 
-    private static String esc(String s) {
+    static String esc(String s) {
         if (s == null) return "";
         return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
     }
 
+    /** Builds every rating column at its final width up front instead of resizing each after layout. */
+    private static TableColumnModel fixedWidthColumns(List<Factor> factors) {
+        DefaultTableColumnModel columns = new DefaultTableColumnModel();
+        for (int c = 0; c < factors.size(); c++) {
+            TableColumn col = new TableColumn(c, COLUMN_WIDTH);
+            col.setHeaderValue(factors.get(c).getName());
+            columns.addColumn(col);
+        }
+        return columns;
+    }
+
+    /** Frozen alternative-name column; fixed cell sizes keep the list from measuring every row. */
+    private static JList<String> alternativeHeader(List<Alternative> alternatives, JTable table) {
+        JList<String> header = new JList<>(new AbstractListModel<String>() {
+            {
+                // Follow rows revealed while a CSV import streams in.
+                table.getModel().addTableModelListener(e -> {
+                    if (e.getType() != TableModelEvent.UPDATE || e.getLastRow() == Integer.MAX_VALUE) {
+                        fireContentsChanged(this, 0, Math.max(0, getSize() - 1));
+                    }
+                });
+            }
+            @Override public int getSize() { return table.getModel().getRowCount(); }
+            @Override public String getElementAt(int i) { return alternatives.get(i).getDescriptor(); }
+        });
+        header.setFixedCellHeight(table.getRowHeight());
+        header.setFixedCellWidth(COLUMN_WIDTH);
+        header.setFocusable(false);
+        header.setSelectionModel(table.getSelectionModel());
+        header.setBackground(table.getTableHeader().getBackground());
+        return header;
+    }
+
     /** Simple list manager dialog (add/remove/reorder optional). */
     static class ListManagerDialog extends JDialog {
-        private final DefaultListModel<String> model = new DefaultListModel<>();
+        private final ItemListModel model = new ItemListModel(true);
+        private final JList<String> list = new JList<>(model);
+        private final JTextField filter = new JTextField();
+        private final JButton paste = new JButton("Paste");
+        private final JButton importBtn = new JButton("Import…");
+        private final JButton okBtn = new JButton("OK");
         private boolean ok;
 
-        static List<String> collect(String title, String fieldPlaceholder, String hint, boolean requireAtLeastOne) {
-            ListManagerDialog d = new ListManagerDialog(title, fieldPlaceholder, hint, requireAtLeastOne);
+        static List<String> collect(ListManagerDialog d) {
             d.setVisible(true);
-            List<String> out = new ArrayList<>();
-            if (d.ok) {
-                for (int i = 0; i < d.model.getSize(); i++) {
-                    String v = d.model.getElementAt(i).trim();
-                    if (!v.isEmpty()) out.add(v);
-                }
-            }
-            return out;
+            // Every entry was trimmed and checked non-empty on the way in.
+            return d.ok ? d.model.toList() : new ArrayList<>();
         }
 
         private ListManagerDialog(String title, String fieldPlaceholder, String hint, boolean requireAtLeastOne) {
@@ -232,34 +634,90 @@ public class JPGUIEnhanced extends UserInterface {
             JButton add = new JButton("Add");
             add.addActionListener(e -> {
                 String txt = field.getText().trim();
-                if (!txt.isEmpty()) {
-                    model.addElement(txt);
-                    field.setText("");
-                    field.requestFocusInWindow();
+                if (txt.isEmpty()) return;
+                if (model.contains(txt)) {
+                    JOptionPane.showMessageDialog(this, "\"" + txt + "\" is already in the list.", "Duplicate", JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
+                String similar = model.findSimilar(txt);
+                if (similar != null && JOptionPane.showConfirmDialog(this,
+                        "\"" + txt + "\" looks like \"" + similar + "\". Add it anyway?",
+                        "Possible duplicate", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE) != JOptionPane.YES_OPTION) {
+                    return;
                 }
+                model.add(txt);
+                field.setText("");
+                field.requestFocusInWindow();
             });
             field.addActionListener(e -> add.doClick());
 
-            JList<String> list = new JList<>(model);
-            list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+            list.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+
+            filter.setToolTipText("Show only items starting with this text");
+            filter.getDocument().addDocumentListener(new DocumentListener() {
+                @Override public void insertUpdate(DocumentEvent e) { refilter(); }
+                @Override public void removeUpdate(DocumentEvent e) { refilter(); }
+                @Override public void changedUpdate(DocumentEvent e) { refilter(); }
+            });
+            model.addListDataListener(new ListDataListener() {
+                @Override public void intervalAdded(ListDataEvent e) { if (list.getModel() != model) refilter(); }
+                @Override public void intervalRemoved(ListDataEvent e) { if (list.getModel() != model) refilter(); }
+                @Override public void contentsChanged(ListDataEvent e) { if (list.getModel() != model) refilter(); }
+            });
 
             JButton remove = new JButton("Remove");
             remove.addActionListener(e -> {
-                int idx = list.getSelectedIndex();
-                if (idx >= 0) model.remove(idx);
+                List<String> selected = list.getSelectedValuesList();
+                list.clearSelection();
+                model.removeAll(selected);
+            });
+            list.getInputMap().put(KeyStroke.getKeyStroke("DELETE"), "removeSelected");
+            list.getActionMap().put("removeSelected", new AbstractAction() {
+                @Override public void actionPerformed(ActionEvent e) { remove.doClick(); }
+            });
+
+            paste.setToolTipText("Add one item per line from the clipboard (first column of spreadsheet rows)");
+            paste.addActionListener(e -> {
+                String text;
+                try {
+                    text = (String) Toolkit.getDefaultToolkit().getSystemClipboard().getData(DataFlavor.stringFlavor);
+                } catch (Exception ex) {
+                    return; // nothing text-like on the clipboard
+                }
+                importInBackground(() -> new StringReader(text));
+            });
+
+            importBtn.setToolTipText("Add items from the first column of a CSV or text file");
+            importBtn.addActionListener(e -> {
+                JFileChooser chooser = new JFileChooser();
+                chooser.setFileFilter(new FileNameExtensionFilter("CSV or text files", "csv", "txt"));
+                if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+                Path file = chooser.getSelectedFile().toPath();
+                importInBackground(() -> Files.newBufferedReader(file, StandardCharsets.UTF_8));
             });
 
+            JPanel actions = new JPanel(new GridLayout(0, 1, 6, 6));
+            actions.add(remove);
+            actions.add(paste);
+            actions.add(importBtn);
+            JPanel east = new JPanel(new BorderLayout());
+            east.add(actions, BorderLayout.NORTH);
+
             JPanel top = new JPanel(new BorderLayout(6,6));
             top.add(new JLabel(fieldPlaceholder + ":"), BorderLayout.WEST);
             top.add(field, BorderLayout.CENTER);
             top.add(add, BorderLayout.EAST);
 
+            JPanel filterRow = new JPanel(new BorderLayout(6,6));
+            filterRow.add(new JLabel("Filter:"), BorderLayout.WEST);
+            filterRow.add(filter, BorderLayout.CENTER);
+
             JPanel center = new JPanel(new BorderLayout(6,6));
+            center.add(filterRow, BorderLayout.NORTH);
             center.add(new JScrollPane(list), BorderLayout.CENTER);
-            center.add(remove, BorderLayout.EAST);
+            center.add(east, BorderLayout.EAST);
 
             JButton cancel = new JButton("Cancel");
-            JButton okBtn = new JButton("OK");
             okBtn.addActionListener(e -> {
                 if (requireAtLeastOne && model.isEmpty()) {
                     JOptionPane.showMessageDialog(this, "Please add at least one item.", "Missing items", JOptionPane.WARNING_MESSAGE);
@@ -284,50 +742,1803 @@ public class JPGUIEnhanced extends UserInterface {
             setSize(520, 420);
             setLocationRelativeTo(null);
         }
+
+        /** Shows the whole model, or a snapshot of the entries matching the filter prefix. */
+        private void refilter() {
+            String prefix = filter.getText();
+            if (prefix.isBlank()) {
+                if (list.getModel() != model) list.setModel(model);
+                return;
+            }
+            List<String> matches = model.withPrefix(prefix);
+            list.setModel(new AbstractListModel<String>() {
+                @Override public int getSize() { return matches.size(); }
+                @Override public String getElementAt(int i) { return matches.get(i); }
+            });
+        }
+
+        /** Parses off the EDT, then appends everything with a single intervalAdded event. */
+        private void importInBackground(Callable<Reader> source) {
+            setImporting(true);
+            new SwingWorker<List<String>, Void>() {
+                @Override protected List<String> doInBackground() throws Exception {
+                    try (Reader in = source.call()) {
+                        return parseItems(in);
+                    }
+                }
+                @Override protected void done() {
+                    setImporting(false);
+                    try {
+                        List<String> batch = get();
+                        int skipped = batch.size() - model.addAll(batch);
+                        if (skipped > 0) {
+                            JOptionPane.showMessageDialog(ListManagerDialog.this, "Skipped " + skipped + " duplicate item(s).",
+                                    "Import", JOptionPane.INFORMATION_MESSAGE);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException e) {
+                        JOptionPane.showMessageDialog(ListManagerDialog.this, "Could not import: " + e.getCause().getMessage(),
+                                "Import failed", JOptionPane.WARNING_MESSAGE);
+                    }
+                }
+            }.execute();
+        }
+
+        private void setImporting(boolean importing) {
+            paste.setEnabled(!importing);
+            importBtn.setEnabled(!importing);
+            okBtn.setEnabled(!importing);
+        }
+
+        /** First cell of every non-blank line; a cell ends at a comma or tab outside double quotes. */
+        static List<String> parseItems(Reader in) throws IOException {
+            BufferedReader r = new BufferedReader(in);
+            List<String> out = new ArrayList<>();
+            StringBuilder cell = new StringBuilder();
+            String line;
+            while ((line = r.readLine()) != null) {
+                cell.setLength(0);
+                boolean quoted = false;
+                for (int i = 0; i < line.length(); i++) {
+                    char ch = line.charAt(i);
+                    if (ch == '"') {
+                        if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            cell.append('"');
+                            i++;
+                        } else {
+                            quoted = !quoted;
+                        }
+                    } else if (!quoted && (ch == ',' || ch == '\t')) {
+                        break;
+                    } else {
+                        cell.append(ch);
+                    }
+                }
+                String v = cell.toString().trim();
+                if (!v.isEmpty()) out.add(v);
+            }
+            return out;
+        }
     }
 
-    /** Table model for cross rankings with anchored baseline on row 0. */
-    static class CrossModel extends AbstractTableModel {
+    /** {@code Alternative.getScore()} resolved once; absent when the host's Alternative has no score. */
+    static final class ScoreAccessor {
+        private static final MethodHandle GET_SCORE = find();
+
+        private ScoreAccessor() {}
+
+        private static MethodHandle find() {
+            try {
+                return MethodHandles.publicLookup().findVirtual(Alternative.class, "getScore",
+                        MethodType.methodType(double.class));
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+
+        static boolean available() { return GET_SCORE != null; }
+
+        static double of(Alternative a) {
+            try {
+                return (double) GET_SCORE.invokeExact(a);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
+
+    /**
+     * Rank / alternative / score rows for the results table. {@code bestFirst.apply(n)} yields the
+     * indices of the best n alternatives in order and is only asked for as many rows as were painted.
+     */
+    static class ResultsModel extends AbstractTableModel {
         private final List<Alternative> alts;
-        private final List<Factor> factors;
-        private final double[][] data;
-        private final int standard;
+        private final IntFunction<int[]> bestFirst;
+        private final double[] scores;
+        private int[] ranked = new int[0];
 
-        CrossModel(List<Alternative> alts, List<Factor> factors, double[][] data, int standard) {
+        ResultsModel(List<Alternative> alts, IntFunction<int[]> bestFirst, double[] scores) {
             this.alts = alts;
-            this.factors = factors;
-            this.data = data;
-            this.standard = standard;
-            // initialize defaults (if untouched)
-            for (int r = 0; r < alts.size(); r++) {
-                for (int c = 0; c < factors.size(); c++) {
-                    if (r == 0) data[r][c] = standard;
-                    else if (data[r][c] == 0) data[r][c] = standard;
-                }
+            this.bestFirst = bestFirst;
+            this.scores = scores;
+        }
+
+        /** Alternatives already in best-first order. */
+        static ResultsModel sorted(List<Alternative> alts) {
+            return new ResultsModel(alts, n -> {
+                int[] first = new int[n];
+                for (int i = 0; i < n; i++) first[i] = i;
+                return first;
+            }, null);
+        }
+
+        /** Unsorted alternatives ranked by {@code scores}, selected lazily with {@link Scorer#topK}. */
+        static ResultsModel ranked(List<Alternative> alts, double[] scores) {
+            return new ResultsModel(alts, n -> Scorer.topK(scores, n), scores);
+        }
+
+        Alternative alternativeAt(int row) { return alts.get(indexAt(row)); }
+
+        private int indexAt(int row) {
+            if (row >= ranked.length) {
+                // Grow geometrically: reaching row m takes O(log m) topK passes over all n scores,
+                // each O(n log m), so O(n log² m) in total instead of a pass per row.
+                int want = Math.max(row + 1, Math.max(RESULTS_PAGE, ranked.length * 2));
+                ranked = bestFirst.apply(Math.min(alts.size(), want));
             }
+            return ranked[row];
         }
 
+        private boolean hasScores() { return scores != null || ScoreAccessor.available(); }
+
         @Override public int getRowCount() { return alts.size(); }
-        @Override public int getColumnCount() { return factors.size(); }
-        @Override public String getColumnName(int c) { return factors.get(c).getName(); }
-        @Override public Class<?> getColumnClass(int c) { return Double.class; }
-        @Override public boolean isCellEditable(int r, int c) { return r != 0; }
-        @Override public Object getValueAt(int r, int c) { return data[r][c]; }
-        @Override public void setValueAt(Object val, int r, int c) {
-            if (r == 0) return;
-            double v = (val instanceof Number) ? ((Number) val).doubleValue() : standard;
-            if (v < 0) v = 0;
-            if (v > MAX_RANK) v = MAX_RANK;
-            data[r][c] = v;
-            fireTableCellUpdated(r, c);
+        @Override public int getColumnCount() { return hasScores() ? 3 : 2; }
+        @Override public String getColumnName(int c) {
+            return c == 0 ? "Rank" : c == 1 ? "Alternative" : "Score";
+        }
+        @Override public Object getValueAt(int r, int c) {
+            if (c == 0) return r + 1;
+            int i = indexAt(r);
+            if (c == 1) return alts.get(i).getDescriptor();
+            return String.format("%.4f", scores != null ? scores[i] : ScoreAccessor.of(alts.get(i)));
+        }
+    }
+
+    /**
+     * Cross-ranking storage: {@code rows × cols} primitive cells. The in-heap forms keep one
+     * primitive array per row. They replace an earlier single flat row-major array, because
+     * getCrossRankings must hand back a jagged {@code double[][]}: a flat store can only be
+     * turned into one by copying it, which briefly holds both. Rows cost one array header each
+     * and nothing on the cell paths, which index the row and then the column.
+     */
+    abstract static class Matrix {
+        /** Above this many cells, untouched cells are not stored at all. */
+        static final long SPARSE_CELLS = 1L << 22;
+
+        final int rows;
+        final int cols;
+
+        Matrix(int rows, int cols) {
+            this.rows = rows;
+            this.cols = cols;
+        }
+
+        /**
+         * A matrix with every cell at {@code fill}: sparse when dense storage would be large,
+         * otherwise 16-bit when the fill is a valid integral rank.
+         */
+        static Matrix filled(int rows, int cols, double fill) {
+            if ((long) rows * cols > SPARSE_CELLS) return new SparseMatrix(rows, cols, fill);
+            if (rankSlot(fill) >= 0) return new ShortMatrix(rows, cols, fill);
+            return new DenseMatrix(rows, cols, fill);
+        }
+
+        abstract double get(int r, int c);
+        abstract void set(int r, int c, double v);
+
+        /** Whether {@link #set} can store {@code v} exactly; if not, {@link #widen} first. */
+        boolean holds(double v) { return true; }
+
+        /** A copy able to hold any double; only needed when {@link #holds} is false. */
+        Matrix widen() { return this; }
+
+        /** Makes edits durable, for storage that outlives the process. */
+        void flush() {}
+
+        /**
+         * Moves the contents out in the API's jagged form and drops the backing store, so the
+         * caller ends up holding the only copy. The matrix is unusable afterwards.
+         */
+        abstract double[][] release();
+    }
+
+    /** One primitive array per row, so {@link #release} can give the rows themselves to the caller. */
+    static final class DenseMatrix extends Matrix {
+        private double[][] cells;
+
+        DenseMatrix(int rows, int cols, double fill) {
+            super(rows, cols);
+            this.cells = new double[rows][cols];
+            if (fill != 0) {
+                for (double[] row : cells) Arrays.fill(row, fill);
+            }
+        }
+
+        @Override double get(int r, int c) { return cells[r][c]; }
+        @Override void set(int r, int c, double v) { cells[r][c] = v; }
+
+        @Override double[][] release() {
+            double[][] out = cells;
+            cells = null;
+            return out;
+        }
+    }
+
+    /**
+     * 16-bit rows for integral ratings in MIN_RANK..MAX_RANK, a quarter of the dense footprint.
+     * Widened to a DenseMatrix if a fractional or out-of-range value arrives.
+     */
+    static final class ShortMatrix extends Matrix {
+        private short[][] cells;
+
+        ShortMatrix(int rows, int cols, double fill) {
+            super(rows, cols);
+            this.cells = new short[rows][cols];
+            if (fill != 0) {
+                for (short[] row : cells) Arrays.fill(row, (short) fill);
+            }
+        }
+
+        @Override double get(int r, int c) { return cells[r][c]; }
+        @Override void set(int r, int c, double v) { cells[r][c] = (short) v; }
+        @Override boolean holds(double v) { return rankSlot(v) >= 0; }
+
+        @Override Matrix widen() {
+            DenseMatrix out = new DenseMatrix(rows, cols, 0);
+            for (int r = 0; r < rows; r++) {
+                short[] src = cells[r];
+                double[] dst = out.cells[r];
+                for (int c = 0; c < cols; c++) dst[c] = src[c];
+            }
+            return out;
+        }
+
+        /** Widens row by row, dropping each 16-bit row once converted, so peak heap stays near the result's size. */
+        @Override double[][] release() {
+            double[][] out = new double[rows][];
+            for (int r = 0; r < rows; r++) {
+                short[] src = cells[r];
+                double[] dst = new double[cols];
+                for (int c = 0; c < cols; c++) dst[c] = src[c];
+                out[r] = dst;
+                cells[r] = null;
+            }
+            cells = null;
+            return out;
+        }
+    }
+
+    /**
+     * Matrix stored in a session file and mapped into memory, so reads and writes go straight to
+     * the page cache and nothing is serialized on save. Layout: a HEADER_BYTES header (magic,
+     * version, rows, cols, study fingerprint) followed by row-major doubles. Files over 2 GB are
+     * mapped in CHUNK_CELLS pieces.
+     */
+    static final class MappedMatrix extends Matrix {
+        private static final int MAGIC = 0x4A504753; // "JPGS"
+        private static final int VERSION = 1;
+        private static final int HEADER_BYTES = 32;
+        private static final int CHUNK_SHIFT = 27;
+        private static final long CHUNK_CELLS = 1L << CHUNK_SHIFT; // 1 GiB of doubles
+
+        private MappedByteBuffer[] maps;
+        private DoubleBuffer[] chunks;
+
+        private MappedMatrix(int rows, int cols) {
+            super(rows, cols);
+        }
+
+        /**
+         * Maps {@code file}, reusing its contents if it holds a matrix of the same shape and study
+         * fingerprint. A new or empty file is initialized with every cell at {@code fill}. A session
+         * file of another study (or a damaged one) is only reset once {@code confirmReset} accepts
+         * the reason it is given; any other non-empty file is refused and left untouched.
+         */
+        static MappedMatrix open(Path file, int rows, int cols, long fingerprint, double fill,
+                                 Predicate<String> confirmReset) throws IOException {
+            MappedMatrix m = new MappedMatrix(rows, cols);
+            long cells = (long) rows * cols;
+            long length = HEADER_BYTES + cells * Double.BYTES;
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                boolean reuse = false;
+                if (ch.size() > 0) {
+                    // Read the header rather than map it: mapping would grow a short file.
+                    ByteBuffer existing = ByteBuffer.allocate(HEADER_BYTES);
+                    while (existing.hasRemaining() && ch.read(existing, existing.position()) >= 0) { /* fill */ }
+                    existing.flip();
+                    if (existing.remaining() < Integer.BYTES || existing.getInt(0) != MAGIC) {
+                        throw new IOException(file + " is not a session file; it was left unchanged");
+                    }
+                    boolean sameStudy = existing.remaining() == HEADER_BYTES && existing.getInt(4) == VERSION
+                            && existing.getInt(8) == rows && existing.getInt(12) == cols
+                            && existing.getLong(16) == fingerprint;
+                    reuse = sameStudy && ch.size() == length;
+                    if (!reuse) {
+                        String reason = sameStudy || existing.remaining() < HEADER_BYTES ? "is incomplete"
+                                : "belongs to a different study (the alternatives or factors have changed)";
+                        if (!confirmReset.test(reason)) {
+                            throw new IOException(file + " " + reason + "; it was left unchanged");
+                        }
+                        // Invalidate before truncating, so a half-rewritten file never passes as a session.
+                        ch.write(ByteBuffer.allocate(Integer.BYTES), 0);
+                        ch.force(true);
+                    }
+                }
+                if (!reuse) ch.truncate(HEADER_BYTES);
+                MappedByteBuffer header = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                int n = (int) ((cells + CHUNK_CELLS - 1) >>> CHUNK_SHIFT);
+                m.maps = new MappedByteBuffer[n];
+                m.chunks = new DoubleBuffer[n];
+                for (int i = 0; i < n; i++) {
+                    long first = (long) i << CHUNK_SHIFT;
+                    long count = Math.min(CHUNK_CELLS, cells - first);
+                    m.maps[i] = ch.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + first * Double.BYTES, count * Double.BYTES);
+                    m.chunks[i] = m.maps[i].asDoubleBuffer();
+                    if (!reuse && fill != 0) { // freshly extended regions already read as 0.0
+                        for (int j = 0; j < count; j++) m.chunks[i].put(j, fill);
+                    }
+                }
+                if (!reuse) {
+                    m.flush();
+                    // Header last, so a half-initialized file is never taken for a valid session.
+                    header.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, rows).putInt(12, cols).putLong(16, fingerprint);
+                    header.force();
+                }
+            }
+            return m;
+        }
+
+        @Override double get(int r, int c) {
+            long i = (long) r * cols + c;
+            return chunks[(int) (i >>> CHUNK_SHIFT)].get((int) (i & (CHUNK_CELLS - 1)));
         }
 
-        double[][] copyData() {
-            double[][] out = new double[data.length][data[0].length];
-            for (int r = 0; r < data.length; r++) {
-                System.arraycopy(data[r], 0, out[r], 0, data[r].length);
+        @Override void set(int r, int c, double v) {
+            long i = (long) r * cols + c;
+            chunks[(int) (i >>> CHUNK_SHIFT)].put((int) (i & (CHUNK_CELLS - 1)), v);
+        }
+
+        @Override void flush() {
+            for (MappedByteBuffer map : maps) map.force();
+        }
+
+        /** The cells live off-heap, so the one heap copy made here is the only one. */
+        @Override double[][] release() {
+            double[][] out = new double[rows][cols];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) out[r][c] = get(r, c);
             }
+            flush();
+            maps = new MappedByteBuffer[0];
+            chunks = null;
             return out;
         }
     }
+
+    /**
+     * Import/export of a study's cross-rankings plus factor importances. The binary form
+     * (.jpgm) is columnar: a HEADER_BYTES header (magic, version, rows, cols, study
+     * fingerprint), the cols factor ranks as ints, then each factor's column of rows doubles,
+     * streamed through a fixed buffer. Any other extension reads and writes CSV instead: a
+     * header row of factor names, an "(importance)" row, then one row per alternative.
+     * Imports only accept files of the same study and check the whole file before changing
+     * anything, so a bad file leaves the model as it was.
+     */
+    static final class MatrixFile {
+        private static final int MAGIC = 0x4A50474D; // "JPGM"
+        private static final int VERSION = 2;
+        private static final int HEADER_BYTES = 24;
+        private static final int BUFFER_BYTES = 1 << 16;
+        private static final String IMPORTANCE_ROW = "(importance)";
+
+        private MatrixFile() {}
+
+        static boolean isBinary(Path file) {
+            return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".jpgm");
+        }
+
+        static void save(Path file, CrossModel model, int[] ranks) throws IOException {
+            if (isBinary(file)) saveBinary(file, model, ranks);
+            else saveCsv(file, model, ranks);
+        }
+
+        /**
+         * Loads into {@code model} and overwrites {@code ranks} with the file's factor importances,
+         * all but the baseline (last) factor's.
+         * Throws, leaving both untouched, if the file is damaged or belongs to another study.
+         */
+        static void load(Path file, CrossModel model, int[] ranks) throws IOException {
+            model.beginBatch();
+            try {
+                if (isBinary(file)) loadBinary(file, model, ranks);
+                else loadCsv(file, model, ranks);
+            } finally {
+                // One event for everything written.
+                model.endBatch();
+            }
+        }
+
+        private static void saveBinary(Path file, CrossModel model, int[] ranks) throws IOException {
+            int rows = model.totalRows();
+            int cols = model.getColumnCount();
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buf = ByteBuffer.allocate(BUFFER_BYTES);
+                buf.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols).putLong(model.fingerprint());
+                for (int rank : ranks) {
+                    if (buf.remaining() < Integer.BYTES) drain(ch, buf);
+                    buf.putInt(rank);
+                }
+                for (int c = 0; c < cols; c++) {
+                    for (int r = 0; r < rows; r++) {
+                        if (buf.remaining() < Double.BYTES) drain(ch, buf);
+                        buf.putDouble(model.rankAt(r, c));
+                    }
+                }
+                drain(ch, buf);
+            }
+        }
+
+        private static void drain(FileChannel ch, ByteBuffer buf) throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+            buf.clear();
+        }
+
+        private static void loadBinary(Path file, CrossModel model, int[] ranks) throws IOException {
+            int rows = model.totalRows();
+            int cols = model.getColumnCount();
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buf = ByteBuffer.allocate(BUFFER_BYTES);
+                buf.flip();
+                need(ch, buf, HEADER_BYTES);
+                if (buf.getInt() != MAGIC || buf.getInt() != VERSION) throw new IOException("not a decision matrix file");
+                int fileRows = buf.getInt();
+                int fileCols = buf.getInt();
+                if (fileRows != rows || fileCols != cols) {
+                    throw new IOException("file holds " + fileRows + " alternatives × " + fileCols
+                            + " factors, this study has " + rows + " × " + cols);
+                }
+                if (buf.getLong() != model.fingerprint()) {
+                    throw new IOException("file is from another study: its alternatives or factors differ from this one's");
+                }
+                long cellsAt = HEADER_BYTES + (long) cols * Integer.BYTES;
+                long size = cellsAt + (long) rows * cols * Double.BYTES;
+                if (ch.size() != size) throw new IOException("file is truncated or damaged: " + ch.size() + " bytes, expected " + size);
+                int[] fileRanks = new int[cols];
+                for (int c = 0; c < cols; c++) {
+                    need(ch, buf, Integer.BYTES);
+                    fileRanks[c] = clampRank(buf.getInt());
+                }
+                // Pass 0 checks every cell, pass 1 applies them: a bad file changes nothing.
+                for (int pass = 0; pass < 2; pass++) {
+                    ch.position(cellsAt);
+                    buf.clear().flip();
+                    for (int c = 0; c < cols; c++) {
+                        for (int r = 0; r < rows; r++) {
+                            need(ch, buf, Double.BYTES);
+                            double v = buf.getDouble();
+                            if (pass == 1) {
+                                model.update(r, c, v);
+                            } else if (!Double.isFinite(v)) {
+                                throw new IOException("rating of alternative " + (r + 1) + " for factor " + (c + 1) + " is not a finite number");
+                            }
+                        }
+                    }
+                }
+                takeRanks(fileRanks, ranks);
+            }
+        }
+
+        /** Refills {@code buf} (in read mode) until it holds at least {@code n} bytes. */
+        private static void need(FileChannel ch, ByteBuffer buf, int n) throws IOException {
+            if (buf.remaining() >= n) return;
+            buf.compact();
+            while (buf.position() < n) {
+                if (ch.read(buf) < 0) throw new EOFException("file is truncated");
+            }
+            buf.flip();
+        }
+
+        private static void saveCsv(Path file, CrossModel model, int[] ranks) throws IOException {
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write("Alternative");
+                for (int c = 0; c < model.getColumnCount(); c++) {
+                    out.write(',');
+                    out.write(csvCell(model.getColumnName(c)));
+                }
+                out.newLine();
+                out.write(IMPORTANCE_ROW);
+                for (int rank : ranks) {
+                    out.write(',');
+                    out.write(Integer.toString(rank));
+                }
+                out.newLine();
+                for (int r = 0; r < model.totalRows(); r++) {
+                    out.write(csvCell(model.alternativeName(r)));
+                    for (int c = 0; c < model.getColumnCount(); c++) {
+                        out.write(',');
+                        double v = model.rankAt(r, c);
+                        out.write(v == (long) v ? Long.toString((long) v) : Double.toString(v));
+                    }
+                    out.newLine();
+                }
+            }
+        }
+
+        private static String csvCell(String s) {
+            if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) return s;
+            return '"' + s.replace("\"", "\"\"") + '"';
+        }
+
+        private static void loadCsv(Path file, CrossModel model, int[] ranks) throws IOException {
+            // Read it once to check it, so a bad file changes nothing; then apply it.
+            readCsv(file, model, ranks, (r, values) -> true);
+            readCsv(file, model, ranks, (r, values) -> {
+                for (int c = 0; c < values.length; c++) model.update(r, c, values[c]);
+                return true;
+            });
+        }
+
+        /** Receives each alternative's ratings as a CSV file is read; returning false stops reading. */
+        interface RowSink {
+            boolean accept(int row, double[] values);
+        }
+
+        /**
+         * Reads a ratings CSV, checked against {@code model}'s study, handing each alternative's
+         * ratings to {@code sink}. The factor importances go into {@code ranks} once the whole
+         * file has been read.
+         */
+        static void readCsv(Path file, CrossModel model, int[] ranks, RowSink sink) throws IOException {
+            try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                CsvRatingsReader csv = new CsvRatingsReader(in, model);
+                double[] values = new double[model.getColumnCount()];
+                int[] fileRanks = ranks.clone();
+                while (csv.next(values)) {
+                    if (csv.importance) {
+                        for (int c = 0; c < values.length; c++) fileRanks[c] = clampRank((int) Math.round(values[c]));
+                    } else if (!sink.accept(csv.row(), values)) {
+                        return;
+                    }
+                }
+                takeRanks(fileRanks, ranks);
+            }
+        }
+
+        /** Copies a file's factor importances except the last factor's: the wizard pins that baseline at the standard. */
+        private static void takeRanks(int[] fileRanks, int[] ranks) {
+            System.arraycopy(fileRanks, 0, ranks, 0, Math.max(0, ranks.length - 1));
+        }
+
+        static int clampRank(int v) {
+            return Math.max(MIN_RANK, Math.min(MAX_RANK, v));
+        }
+    }
+
+    /**
+     * Streaming reader for the ratings CSV written by {@link MatrixFile}, checked against the
+     * study as it goes: the header must list the study's factors and the rows its alternatives,
+     * in order. Characters go through one reusable buffer, name cells are compared in place
+     * without building Strings, and plain decimal ratings are converted straight from their
+     * digits; anything else (exponents, long mantissas) falls back to parseDouble.
+     */
+    static final class CsvRatingsReader {
+        private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
+        private static final long EXACT_MANTISSA = 1L << 53;
+        private final Reader in;
+        private final CrossModel model;
+        private final int cols;
+        private final char[] buf = new char[1 << 16];
+        private final char[] token = new char[64];
+        private int pos;
+        private int len;
+        private int line = 1;
+        private int row = -1;
+        private boolean headerChecked;
+        private boolean importanceSeen;
+        private boolean blank;
+        private boolean matchedA;
+        private boolean matchedB;
+
+        /** Whether the row just read was the "(importance)" row rather than an alternative. */
+        boolean importance;
+
+        CsvRatingsReader(Reader in, CrossModel model) {
+            this.in = in;
+            this.model = model;
+            this.cols = model.getColumnCount();
+        }
+
+        /** The alternative whose ratings the last {@link #next} call read. */
+        int row() { return row; }
+
+        /**
+         * Reads the next data row into {@code values}; false once every alternative has been read
+         * and the input is exhausted.
+         */
+        boolean next(double[] values) throws IOException {
+            if (!headerChecked) {
+                headerChecked = true;
+                checkHeader();
+            }
+            while (true) {
+                line++;
+                String expected = row + 1 < model.totalRows() ? model.alternativeName(row + 1) : null;
+                int ch = cell(MatrixFile.IMPORTANCE_ROW, expected);
+                if (ch == -1) {
+                    if (row + 1 < model.totalRows()) {
+                        throw new IOException("file lists " + (row + 1) + " alternatives, this study has " + model.totalRows());
+                    }
+                    return false;
+                }
+                if (ch == '\n' && blank) continue;
+                // The importance row comes once, before the alternatives; later it is just a name.
+                importance = matchedA && !importanceSeen && row < 0;
+                importanceSeen |= importance;
+                if (!importance) {
+                    if (expected == null) throw new IOException("line " + line + ": more alternatives than this study's " + model.totalRows());
+                    if (!matchedB) {
+                        throw new IOException("line " + line + ": expected alternative \"" + expected
+                                + "\"; the file is from another study or lists the alternatives in another order");
+                    }
+                    row++;
+                }
+                if (ch != ',') throw new IOException("line " + line + ": expected " + cols + " ratings but found 0");
+                int n = 0;
+                do {
+                    if (n == cols) throw new IOException("line " + line + ": more than " + cols + " ratings");
+                    ch = number(values, n++);
+                } while (ch == ',');
+                if (n != cols) throw new IOException("line " + line + ": expected " + cols + " ratings but found " + n);
+                return true;
+            }
+        }
+
+        /** The header row must name this study's factors, in order, after the alternatives' column. */
+        private void checkHeader() throws IOException {
+            int ch = cell(null, null);
+            if (ch == -1) throw new IOException("file is empty");
+            for (int c = 0; c < cols; c++) {
+                if (ch != ',') throw new IOException("header: expected " + cols + " factors but found " + c);
+                ch = cell(model.getColumnName(c), null);
+                if (!matchedA) {
+                    throw new IOException("header: expected factor \"" + model.getColumnName(c) + "\" in column " + (c + 2)
+                            + "; the file is from another study or lists the factors in another order");
+                }
+            }
+            if (ch == ',') throw new IOException("header: more than " + cols + " factors");
+        }
+
+        private int read() throws IOException {
+            if (pos == len) {
+                len = in.read(buf, 0, buf.length);
+                pos = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[pos++];
+        }
+
+        private int peek() throws IOException {
+            int ch = read();
+            if (ch != -1) pos--;
+            return ch;
+        }
+
+        /**
+         * Consumes one (possibly quoted) cell, comparing it with {@code a} and {@code b} (either
+         * may be null) into matchedA and matchedB as it goes. Returns the ',' or '\n' that ended
+         * it, or -1 at end of input; {@code blank} tells whether the cell held nothing at all.
+         */
+        private int cell(String a, String b) throws IOException {
+            int at = 0;
+            boolean okA = a != null;
+            boolean okB = b != null;
+            boolean quoted = false;
+            blank = true;
+            while (true) {
+                int ch = read();
+                if (ch == -1 && blank) return -1;
+                if (ch == -1 || (!quoted && (ch == ',' || ch == '\n'))) {
+                    matchedA = okA && at == a.length();
+                    matchedB = okB && at == b.length();
+                    return ch == -1 ? '\n' : ch;
+                }
+                if (ch == '\r') continue;
+                if (ch == '"') {
+                    blank = false;
+                    if (!quoted) {
+                        quoted = true;
+                        continue;
+                    }
+                    if (peek() != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                    read(); // a doubled quote inside quotes is one literal quote
+                }
+                blank = false;
+                okA = okA && at < a.length() && a.charAt(at) == ch;
+                okB = okB && at < b.length() && b.charAt(at) == ch;
+                at++;
+            }
+        }
+
+        /** Parses one rating into {@code values[i]}; returns the ',' or '\n' after it, or -1. */
+        private int number(double[] values, int i) throws IOException {
+            int n = 0;
+            long mantissa = 0;
+            int scale = 0;
+            boolean negative = false;
+            boolean fraction = false;
+            boolean digits = false;
+            boolean simple = true;
+            int ch;
+            while ((ch = read()) != -1 && ch != ',' && ch != '\n') {
+                if (ch == ' ' || ch == '\t' || ch == '\r') continue;
+                if (n == token.length) throw new IOException("line " + line + ": rating too long");
+                token[n++] = (char) ch;
+                if (ch >= '0' && ch <= '9') {
+                    digits = true;
+                    if (mantissa < EXACT_MANTISSA / 10) {
+                        mantissa = mantissa * 10 + (ch - '0');
+                        if (fraction) scale++;
+                    } else {
+                        simple = false;
+                    }
+                } else if (ch == '.' && !fraction) {
+                    fraction = true;
+                } else if ((ch == '-' || ch == '+') && n == 1) {
+                    negative = ch == '-';
+                } else {
+                    simple = false;
+                }
+            }
+            if (n == 0) throw new IOException("line " + line + ": empty rating in column " + (i + 2));
+            if (simple && digits && scale < POW10.length) {
+                // both operands are exact doubles, so the one division rounds correctly
+                double v = mantissa / POW10[scale];
+                values[i] = negative ? -v : v;
+            } else {
+                String s = new String(token, 0, n);
+                double v;
+                try {
+                    v = Double.parseDouble(s);
+                } catch (NumberFormatException e) {
+                    throw new IOException("line " + line + ": not a number: " + s);
+                }
+                if (!Double.isFinite(v)) throw new IOException("line " + line + ": not a finite rating: " + s);
+                values[i] = v;
+            }
+            return ch;
+        }
+    }
+
+    /**
+     * Loads a ratings CSV into a live CrossModel on a background thread. Parsed rows go to the
+     * EDT in blocks of BATCH_ROWS; each process() pass writes whatever blocks have arrived and
+     * reveals them with one rowsInserted, so the first rows are editable while the rest load.
+     * Each row is checked as it is parsed. The values a block overwrites are kept, and a load
+     * that fails or is stopped puts them back, so it leaves the model as it found it (edits
+     * made to the loaded rows in the meantime are undone with it).
+     */
+    static final class CsvLoader extends SwingWorker<Void, CsvLoader.Block> {
+        private static final int BATCH_ROWS = 256;
+        private final Path file;
+        private final CrossModel model;
+        private final int[] ranks;
+        private final Consumer<Exception> onDone;
+        private int loadedRows;
+        // Values the loaded blocks overwrote, in load order; EDT only.
+        private final List<Block> overwritten = new ArrayList<>();
+        // Block being filled on the worker thread.
+        private double[] pending;
+        private int pendingFirst;
+        private int pendingRows;
+
+        static final class Block {
+            final int firstRow;
+            final int rowCount;
+            final double[] values;
+
+            Block(int firstRow, int rowCount, double[] values) {
+                this.firstRow = firstRow;
+                this.rowCount = rowCount;
+                this.values = values;
+            }
+        }
+
+        /** {@code onDone} runs on the EDT with null on success, otherwise the failure; a CancellationException if stopped. */
+        CsvLoader(Path file, CrossModel model, int[] ranks, Consumer<Exception> onDone) {
+            this.file = file;
+            this.model = model;
+            this.ranks = ranks;
+            this.onDone = onDone;
+        }
+
+        void start() {
+            model.beginLoading(this);
+            execute();
+        }
+
+        @Override protected Void doInBackground() throws IOException {
+            MatrixFile.readCsv(file, model, ranks, this::collect);
+            if (pendingRows > 0 && !isCancelled()) publish(new Block(pendingFirst, pendingRows, pending));
+            return null;
+        }
+
+        /** Adds one row to the pending block, publishing it when full. */
+        private boolean collect(int r, double[] values) {
+            if (isCancelled()) return false;
+            int cols = values.length;
+            if (pending == null) pending = new double[BATCH_ROWS * cols];
+            System.arraycopy(values, 0, pending, pendingRows * cols, cols);
+            if (++pendingRows == BATCH_ROWS) {
+                publish(new Block(pendingFirst, BATCH_ROWS, pending));
+                pending = new double[BATCH_ROWS * cols];
+                pendingFirst = r + 1;
+                pendingRows = 0;
+            }
+            return true;
+        }
+
+        @Override protected void process(List<Block> blocks) {
+            if (isCancelled()) return;
+            // The table keeps its rows until the first block is ready to replace them.
+            if (overwritten.isEmpty()) model.beginStreaming();
+            for (Block b : blocks) {
+                overwritten.add(new Block(b.firstRow, b.rowCount, model.rowsAt(b.firstRow, b.rowCount)));
+                model.putRows(b.firstRow, b.rowCount, b.values);
+                loadedRows = b.firstRow + b.rowCount;
+            }
+            model.revealRows(loadedRows);
+        }
+
+        @Override protected void done() {
+            Exception failure = null;
+            try {
+                get();
+            } catch (CancellationException e) {
+                failure = e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+            } catch (ExecutionException e) {
+                failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+            if (failure != null) {
+                for (Block b : overwritten) model.putRows(b.firstRow, b.rowCount, b.values);
+            }
+            model.endStreaming(loadedRows);
+            onDone.accept(failure);
+        }
+    }
+
+    /**
+     * Append-only log of cross-ranking edits for crash recovery. Layout: a HEADER_BYTES header
+     * (magic, version, rows, cols, study fingerprint) followed by records: (int row, int col,
+     * double value) for one edited cell, or for a range refreshed in one event (an import),
+     * (BLOCK, int row, int col, int rows, int cols) and the range's values row by row. The EDT
+     * only enqueues, copying a range out in one pass; a writer thread drains whatever has queued
+     * up, appends it in one write and forces once per batch (group commit), so durability costs
+     * no UI latency.
+     */
+    static final class EditJournal implements TableModelListener {
+        private static final int MAGIC = 0x4A50474A; // "JPGJ"
+        private static final int VERSION = 2;
+        private static final int HEADER_BYTES = 32;
+        private static final int RECORD_BYTES = 16;
+        private static final int BLOCK = -1;
+        private static final int BLOCK_HEADER_BYTES = 5 * Integer.BYTES;
+        private static final Edit STOP = new Edit(-1, -1, 0, 0, new double[0]);
+
+        private final Path file;
+        private final FileChannel channel;
+        private final CrossModel model;
+        private final BlockingQueue<Edit> queue = new LinkedBlockingQueue<>();
+        private final Thread writer;
+        private final Consumer<IOException> onFailure;
+        // Set by the writer when a write fails; recording stops from then on.
+        private volatile boolean failed;
+
+        /** A range of cells and their values, row-major; 1×1 for a single edit. */
+        private static final class Edit {
+            final int row;
+            final int col;
+            final int rows;
+            final int cols;
+            final double[] values;
+
+            Edit(int row, int col, int rows, int cols, double[] values) {
+                this.row = row;
+                this.col = col;
+                this.rows = rows;
+                this.cols = cols;
+                this.values = values;
+            }
+        }
+
+        private EditJournal(Path file, FileChannel channel, CrossModel model, Consumer<IOException> onFailure) {
+            this.file = file;
+            this.channel = channel;
+            this.model = model;
+            this.onFailure = onFailure;
+            this.writer = new Thread(this::drain, "jpgui-journal");
+            writer.setDaemon(true);
+        }
+
+        /**
+         * Opens {@code file}, replays a journal left by an earlier run of the same study into
+         * {@code model}, and starts recording the model's edits. The file and any directories
+         * created for it are private to the user where the file system supports it, and a
+         * symbolic link in place of the file is refused rather than followed. If a write fails
+         * later, recording stops and {@code onFailure} runs once on the EDT with the error.
+         */
+        static EditJournal open(Path file, CrossModel model, long fingerprint, Consumer<IOException> onFailure) throws IOException {
+            boolean posix = file.getFileSystem().supportedFileAttributeViews().contains("posix");
+            Path dir = file.toAbsolutePath().getParent();
+            if (posix) {
+                Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            } else {
+                Files.createDirectories(dir);
+            }
+            FileAttribute<?>[] ownerOnly = posix
+                    ? new FileAttribute<?>[] {PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))}
+                    : new FileAttribute<?>[0];
+            FileChannel ch = FileChannel.open(file, Set.of(StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, LinkOption.NOFOLLOW_LINKS), ownerOnly);
+            try {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                while (header.hasRemaining() && ch.read(header) >= 0) { /* fill */ }
+                header.flip();
+                if (header.hasRemaining() && (header.remaining() < Integer.BYTES || header.getInt(0) != MAGIC)) {
+                    throw new IOException(file + " is not an edit journal; it was left unchanged");
+                }
+                boolean resume = header.remaining() == HEADER_BYTES
+                        && header.getInt(0) == MAGIC && header.getInt(4) == VERSION
+                        && header.getInt(8) == model.getRowCount() && header.getInt(12) == model.getColumnCount()
+                        && header.getLong(16) == fingerprint;
+                long end = HEADER_BYTES;
+                if (resume) {
+                    end = replay(ch, model);
+                } else {
+                    ByteBuffer fresh = ByteBuffer.allocate(HEADER_BYTES);
+                    fresh.putInt(MAGIC).putInt(VERSION).putInt(model.getRowCount())
+                            .putInt(model.getColumnCount()).putLong(fingerprint).rewind();
+                    ch.truncate(0);
+                    while (fresh.hasRemaining()) ch.write(fresh, fresh.position());
+                }
+                ch.truncate(end); // drop a torn trailing record
+                ch.position(end);
+                ch.force(true);
+            } catch (IOException | RuntimeException e) {
+                ch.close();
+                throw e;
+            }
+            EditJournal journal = new EditJournal(file, ch, model, onFailure);
+            model.addTableModelListener(journal);
+            journal.writer.start();
+            return journal;
+        }
+
+        /** Applies every complete record; returns the offset just past the last one. */
+        private static long replay(FileChannel ch, CrossModel model) throws IOException {
+            ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES * 4096);
+            long size = ch.size();
+            long pos = HEADER_BYTES;
+            ch.position(pos);
+            buf.flip();
+            while (fill(ch, buf, RECORD_BYTES)) {
+                int r = buf.getInt();
+                if (r != BLOCK) {
+                    int c = buf.getInt();
+                    double v = buf.getDouble();
+                    if (r > 0 && r < model.getRowCount() && c >= 0 && c < model.getColumnCount()) {
+                        model.setValueAt(v, r, c);
+                    }
+                    pos += RECORD_BYTES;
+                    continue;
+                }
+                if (!fill(ch, buf, BLOCK_HEADER_BYTES - Integer.BYTES)) break;
+                int r0 = buf.getInt();
+                int c0 = buf.getInt();
+                int rows = buf.getInt();
+                int cols = buf.getInt();
+                if (rows < 0 || cols < 0) break;
+                long end = pos + BLOCK_HEADER_BYTES + (long) rows * cols * Double.BYTES;
+                if (end > size) break; // torn: an import that never finished writing changes nothing
+                for (int i = 0; i < rows; i++) {
+                    for (int j = 0; j < cols; j++) {
+                        fill(ch, buf, Double.BYTES);
+                        double v = buf.getDouble();
+                        int row = r0 + i;
+                        int col = c0 + j;
+                        if (row > 0 && row < model.getRowCount() && col >= 0 && col < model.getColumnCount()) {
+                            model.setValueAt(v, row, col);
+                        }
+                    }
+                }
+                pos = end;
+            }
+            return pos;
+        }
+
+        /** Refills {@code buf} (in read mode) until it holds {@code n} bytes; false at end of file. */
+        private static boolean fill(FileChannel ch, ByteBuffer buf, int n) throws IOException {
+            if (buf.remaining() >= n) return true;
+            buf.compact();
+            while (buf.position() < n && ch.read(buf) > 0) { /* fill */ }
+            buf.flip();
+            return buf.remaining() >= n;
+        }
+
+        @Override public void tableChanged(TableModelEvent e) {
+            if (failed) return;
+            // Cell and row-range updates only; whole-table refreshes carry no edit.
+            if (e.getType() != TableModelEvent.UPDATE || e.getFirstRow() < 0 || e.getLastRow() == Integer.MAX_VALUE) return;
+            int r0 = e.getFirstRow();
+            int rows = e.getLastRow() - r0 + 1;
+            int c0 = e.getColumn() == TableModelEvent.ALL_COLUMNS ? 0 : e.getColumn();
+            int cols = e.getColumn() == TableModelEvent.ALL_COLUMNS ? model.getColumnCount() : 1;
+            if (rows == 1 && cols == 1) {
+                queue.add(new Edit(r0, c0, 1, 1, new double[] {model.rankAt(r0, c0)}));
+            } else if (cols == model.getColumnCount()) {
+                queue.add(new Edit(r0, 0, rows, cols, model.rowsAt(r0, rows)));
+            } else {
+                double[] values = new double[rows];
+                for (int r = 0; r < rows; r++) values[r] = model.rankAt(r0 + r, c0);
+                queue.add(new Edit(r0, c0, rows, 1, values));
+            }
+        }
+
+        private void drain() {
+            List<Edit> batch = new ArrayList<>();
+            ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES * 1024);
+            try {
+                while (true) {
+                    batch.add(queue.take());
+                    queue.drainTo(batch);
+                    boolean stop = false;
+                    for (Edit edit : batch) {
+                        if (edit == STOP) {
+                            stop = true;
+                            break;
+                        }
+                        write(edit, buf);
+                    }
+                    batch.clear();
+                    flushBuffer(buf);
+                    channel.force(false);
+                    if (stop) return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                failed = true;
+                queue.clear();
+                SwingUtilities.invokeLater(() -> onFailure.accept(e));
+            }
+        }
+
+        /** Appends one record to {@code buf}, writing the buffer out whenever it fills. */
+        private void write(Edit edit, ByteBuffer buf) throws IOException {
+            if (edit.rows == 1 && edit.cols == 1) {
+                if (buf.remaining() < RECORD_BYTES) flushBuffer(buf);
+                buf.putInt(edit.row).putInt(edit.col).putDouble(edit.values[0]);
+                return;
+            }
+            if (buf.remaining() < BLOCK_HEADER_BYTES) flushBuffer(buf);
+            buf.putInt(BLOCK).putInt(edit.row).putInt(edit.col).putInt(edit.rows).putInt(edit.cols);
+            for (double v : edit.values) {
+                if (buf.remaining() < Double.BYTES) flushBuffer(buf);
+                buf.putDouble(v);
+            }
+        }
+
+        private void flushBuffer(ByteBuffer buf) throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) channel.write(buf);
+            buf.clear();
+        }
+
+        /**
+         * Stops recording after writing everything queued so far and deletes the journal: the
+         * dialog has ended, so its edits were either handed off or discarded.
+         */
+        void close() {
+            model.removeTableModelListener(this);
+            queue.add(STOP);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Edit journal " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Default value plus an open-addressing map of edited cells keyed by {@code r * cols + c} as a
+     * primitive long. Memory is O(edits); lookups are a hash probe.
+     */
+    static final class SparseMatrix extends Matrix {
+        private static final long EMPTY = -1;
+        private final double fill;
+        private long[] keys;
+        private double[] values;
+        private int size;
+
+        SparseMatrix(int rows, int cols, double fill) {
+            super(rows, cols);
+            this.fill = fill;
+            this.keys = new long[64];
+            this.values = new double[64];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        @Override double get(int r, int c) {
+            long key = (long) r * cols + c;
+            for (int i = slot(key, keys.length); ; i = (i + 1) & (keys.length - 1)) {
+                if (keys[i] == key) return values[i];
+                if (keys[i] == EMPTY) return fill;
+            }
+        }
+
+        @Override void set(int r, int c, double v) {
+            long key = (long) r * cols + c;
+            int i = slot(key, keys.length);
+            for (; keys[i] != EMPTY; i = (i + 1) & (keys.length - 1)) {
+                if (keys[i] == key) {
+                    values[i] = v;
+                    return;
+                }
+            }
+            if (v == fill) return; // untouched cells stay implicit
+            keys[i] = key;
+            values[i] = v;
+            if (++size * 2 > keys.length) grow();
+        }
+
+        @Override double[][] release() {
+            double[][] out = new double[rows][cols];
+            for (double[] row : out) Arrays.fill(row, fill);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) out[(int) (keys[i] / cols)][(int) (keys[i] % cols)] = values[i];
+            }
+            keys = new long[] {EMPTY};
+            values = new double[1];
+            size = 0;
+            return out;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new double[oldKeys.length * 2];
+            Arrays.fill(keys, EMPTY);
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] == EMPTY) continue;
+                int i = slot(oldKeys[j], keys.length);
+                while (keys[i] != EMPTY) i = (i + 1) & (keys.length - 1);
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+
+        private static int slot(long key, int capacity) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & (capacity - 1);
+        }
+    }
+
+    // Ratings are integral spinner values in MIN_RANK..MAX_RANK, so boxes and labels can be shared.
+    private static final Double[] BOXED_RANKS = new Double[MAX_RANK - MIN_RANK + 1];
+    private static final String[] RANK_LABELS = new String[MAX_RANK - MIN_RANK + 1];
+    static {
+        for (int i = 0; i < BOXED_RANKS.length; i++) {
+            BOXED_RANKS[i] = (double) (MIN_RANK + i);
+            RANK_LABELS[i] = BOXED_RANKS[i].toString();
+        }
+    }
+
+    private static int rankSlot(double v) {
+        int i = (int) v;
+        return (i == v && i >= MIN_RANK && i <= MAX_RANK) ? i - MIN_RANK : -1;
+    }
+
+    static Double boxRank(double v) {
+        int slot = rankSlot(v);
+        return slot >= 0 ? BOXED_RANKS[slot] : Double.valueOf(v);
+    }
+
+    /** Renders rank cells from the shared label table instead of formatting on every paint. */
+    static class RankRenderer extends DefaultTableCellRenderer {
+        @Override protected void setValue(Object value) {
+            if (value instanceof Double) {
+                int slot = rankSlot((Double) value);
+                if (slot >= 0) {
+                    setText(RANK_LABELS[slot]);
+                    return;
+                }
+            }
+            super.setValue(value);
+        }
+    }
+
+    /**
+     * Weighted scoring: factor ranks are normalised into weights summing to 1, and each
+     * alternative scores the weighted sum of its cross-rankings.
+     */
+    static final class Scorer {
+        private Scorer() {}
+
+        static double[] weights(int[] ranks) {
+            double total = 0;
+            for (int r : ranks) total += r;
+            double[] w = new double[ranks.length];
+            for (int i = 0; i < ranks.length; i++) {
+                w[i] = total > 0 ? ranks[i] / total : 1.0 / ranks.length;
+            }
+            return w;
+        }
+
+        static double[] score(double[][] cross, int[] ranks) {
+            checkShape(cross, ranks);
+            double[] w = weights(ranks);
+            double[] out = new double[cross.length];
+            for (int r = 0; r < cross.length; r++) out[r] = dot(cross[r], w);
+            return out;
+        }
+
+        static double[] scoreParallel(double[][] cross, int[] ranks, int parallelism) {
+            if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1: " + parallelism);
+            checkShape(cross, ranks);
+            double[] w = weights(ranks);
+            double[] out = new double[cross.length];
+            RowBlock all = new RowBlock(cross, w, out, 0, cross.length);
+            if (parallelism == 1 || cross.length <= all.minRows) {
+                all.compute();
+                return out;
+            }
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(all);
+            } finally {
+                pool.shutdown();
+            }
+            return out;
+        }
+
+        /** Every row must rate exactly the ranked factors; a short or long row would be scored on the wrong columns. */
+        private static void checkShape(double[][] cross, int[] ranks) {
+            for (int r = 0; r < cross.length; r++) {
+                if (cross[r].length != ranks.length) {
+                    throw new IllegalArgumentException("row " + r + " has " + cross[r].length
+                            + " ratings but there are " + ranks.length + " factor ranks");
+                }
+            }
+        }
+
+        /** Scores rows [lo, hi), halving until a block holds about BLOCK_CELLS cells. */
+        private static final class RowBlock extends RecursiveAction {
+            private static final int BLOCK_CELLS = 1 << 16;
+            private final double[][] cross;
+            private final double[] w;
+            private final double[] out;
+            private final int lo;
+            private final int hi;
+            final int minRows;
+
+            RowBlock(double[][] cross, double[] w, double[] out, int lo, int hi) {
+                this.cross = cross;
+                this.w = w;
+                this.out = out;
+                this.lo = lo;
+                this.hi = hi;
+                this.minRows = Math.max(1, BLOCK_CELLS / Math.max(1, w.length));
+            }
+
+            @Override protected void compute() {
+                if (hi - lo <= minRows) {
+                    for (int r = lo; r < hi; r++) out[r] = dot(cross[r], w);
+                    return;
+                }
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new RowBlock(cross, w, out, lo, mid), new RowBlock(cross, w, out, mid, hi));
+            }
+        }
+
+        /**
+         * Indices of the {@code k} highest scores, best first, via a bounded min-heap: O(n log k)
+         * rather than sorting all n. Ties go to the lower index.
+         */
+        static int[] topK(double[] scores, int k) {
+            k = Math.min(k, scores.length);
+            if (k <= 0) return new int[0];
+            int[] heap = new int[k]; // heap[0] is the weakest of the current best k
+            int size = 0;
+            for (int i = 0; i < scores.length; i++) {
+                if (size < k) {
+                    heap[size] = i;
+                    siftUp(heap, size++, scores);
+                } else if (worse(heap[0], i, scores)) {
+                    heap[0] = i;
+                    siftDown(heap, size, scores);
+                }
+            }
+            // Pop weakest-first into the back of the result.
+            int[] out = new int[k];
+            for (int n = k - 1; n >= 0; n--) {
+                out[n] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(heap, size, scores);
+            }
+            return out;
+        }
+
+        /** True if alternative a ranks below alternative b. */
+        private static boolean worse(int a, int b, double[] scores) {
+            int cmp = Double.compare(scores[a], scores[b]);
+            return cmp < 0 || (cmp == 0 && a > b);
+        }
+
+        private static void siftUp(int[] heap, int i, double[] scores) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(heap[i], heap[parent], scores)) return;
+                int t = heap[i]; heap[i] = heap[parent]; heap[parent] = t;
+                i = parent;
+            }
+        }
+
+        private static void siftDown(int[] heap, int size, double[] scores) {
+            int i = 0;
+            while (true) {
+                int l = 2 * i + 1;
+                if (l >= size) return;
+                int m = (l + 1 < size && worse(heap[l + 1], heap[l], scores)) ? l + 1 : l;
+                if (!worse(heap[m], heap[i], scores)) return;
+                int t = heap[i]; heap[i] = heap[m]; heap[m] = t;
+                i = m;
+            }
+        }
+
+        /**
+         * Four independent accumulators let the multiply-adds pipeline instead of waiting on one sum.
+         * {@code row} must be as long as {@code w}; callers check the shape once up front.
+         */
+        static double dot(double[] row, double[] w) {
+            int n = w.length;
+            double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int i = 0;
+            for (; i + 3 < n; i += 4) {
+                s0 += row[i] * w[i];
+                s1 += row[i + 1] * w[i + 1];
+                s2 += row[i + 2] * w[i + 2];
+                s3 += row[i + 3] * w[i + 3];
+            }
+            for (; i < n; i++) s0 += row[i] * w[i];
+            return (s0 + s1) + (s2 + s3);
+        }
+    }
+
+    /**
+     * Array-backed list model whose bulk operations fire one event per call. Entries are unique
+     * under {@link #key}; an optional trigram index answers near-duplicate queries.
+     */
+    static class ItemListModel extends AbstractListModel<String> {
+        private String[] items = new String[16];
+        private int size;
+        private final Set<String> keys = new HashSet<>();
+        private final TreeMap<String, String> sorted = new TreeMap<>();
+        private final TrigramIndex similar;
+
+        ItemListModel(boolean detectSimilar) {
+            this.similar = detectSimilar ? new TrigramIndex() : null;
+        }
+
+        /** Normalized identity: trimmed, inner whitespace collapsed, case-folded. */
+        static String key(String item) {
+            StringBuilder sb = new StringBuilder(item.length());
+            boolean space = false;
+            for (int i = 0; i < item.length(); i++) {
+                char ch = item.charAt(i);
+                if (Character.isWhitespace(ch)) {
+                    space = sb.length() > 0;
+                } else {
+                    if (space) sb.append(' ');
+                    space = false;
+                    sb.append(ch);
+                }
+            }
+            return sb.toString().toLowerCase(Locale.ROOT);
+        }
+
+        @Override public int getSize() { return size; }
+        @Override public String getElementAt(int i) { return items[i]; }
+        boolean isEmpty() { return size == 0; }
+        boolean contains(String item) { return keys.contains(key(item)); }
+
+        /** An existing entry that closely resembles {@code item}, or null (also when detection is off). */
+        String findSimilar(String item) {
+            return similar == null ? null : similar.find(key(item));
+        }
+
+        /** Appends {@code item} unless an equal entry exists; returns whether it was added. */
+        boolean add(String item) {
+            String k = key(item);
+            if (!keys.add(k)) return false;
+            index(k, item);
+            ensureCapacity(size + 1);
+            items[size++] = item;
+            fireIntervalAdded(this, size - 1, size - 1);
+            return true;
+        }
+
+        /** Appends the new entries of {@code batch} with one event; returns how many were added. */
+        int addAll(List<String> batch) {
+            ensureCapacity(size + batch.size());
+            int first = size;
+            for (String item : batch) {
+                String k = key(item);
+                if (!keys.add(k)) continue;
+                index(k, item);
+                items[size++] = item;
+            }
+            if (size > first) fireIntervalAdded(this, first, size - 1);
+            return size - first;
+        }
+
+        /**
+         * Removes the given entries in one compacting pass. A contiguous run fires one
+         * intervalRemoved; scattered removals fire one contentsChanged for the shifted span
+         * plus one intervalRemoved for the vacated tail.
+         */
+        void removeAll(Collection<String> doomed) {
+            if (doomed.isEmpty()) return;
+            Set<String> gone = new HashSet<>(doomed); // entries are unique, so equality identifies them
+            int first = -1;
+            int last = -1;
+            int w = 0;
+            for (int r = 0; r < size; r++) {
+                String item = items[r];
+                if (gone.contains(item)) {
+                    if (first < 0) first = r;
+                    last = r;
+                    forget(item);
+                } else {
+                    items[w++] = item;
+                }
+            }
+            if (first < 0) return;
+            int oldSize = size;
+            size = w;
+            Arrays.fill(items, size, oldSize, null);
+            if (oldSize - size == last - first + 1) {
+                fireIntervalRemoved(this, first, last);
+            } else {
+                if (first < size) fireContentsChanged(this, first, size - 1);
+                fireIntervalRemoved(this, size, oldSize - 1);
+            }
+        }
+
+        /** Entries whose key starts with {@code prefix}'s key, in key order; a range query on the sorted index. */
+        List<String> withPrefix(String prefix) {
+            String k = key(prefix);
+            return new ArrayList<>(sorted.subMap(k, true, k + Character.MAX_VALUE, false).values());
+        }
+
+        /** A view over the backing array; valid until the model is next modified. */
+        List<String> toList() {
+            return Arrays.asList(items).subList(0, size);
+        }
+
+        private void index(String k, String item) {
+            sorted.put(k, item);
+            if (similar != null) similar.add(k, item);
+        }
+
+        private void forget(String item) {
+            String k = key(item);
+            keys.remove(k);
+            sorted.remove(k);
+            if (similar != null) similar.remove(k);
+        }
+
+        private void ensureCapacity(int min) {
+            if (min > items.length) items = Arrays.copyOf(items, Math.max(min, items.length * 2));
+        }
+    }
+
+    /**
+     * Trigram index over normalized keys for near-duplicate warnings ("Toyota Camry" vs "Toyta Camry").
+     * Keys get int ids and each trigram maps to a growable id list; removed ids are tombstoned.
+     * Trigrams shared by more than MAX_POSTINGS keys carry little signal and are not used to find
+     * candidates, which keeps lookups bounded on large lists.
+     */
+    static class TrigramIndex {
+        private static final double MIN_SIMILARITY = 0.6;
+        private static final int MAX_POSTINGS = 2000;
+        private final Map<Long, int[]> postings = new HashMap<>(); // slot 0 holds the id count
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> keys = new ArrayList<>();        // null once removed
+        private final List<String> items = new ArrayList<>();
+        private int[] counts = new int[0];
+        private int removed;                                         // ids in keys that are null
+
+        void add(String key, String item) {
+            int id = keys.size();
+            keys.add(key);
+            items.add(item);
+            ids.put(key, id);
+            for (long g : trigrams(key)) {
+                int[] list = postings.get(g);
+                if (list == null || list[0] + 1 == list.length) {
+                    list = list == null ? new int[4] : Arrays.copyOf(list, list.length * 2);
+                    postings.put(g, list);
+                }
+                list[++list[0]] = id;
+            }
+        }
+
+        void remove(String key) {
+            Integer id = ids.remove(key);
+            if (id == null) return;
+            keys.set(id, null);
+            items.set(id, null);
+            // Renumber once removed ids outnumber live ones, so the lists and postings do not grow
+            // across remove and re-add cycles and find never walks more dead ids than live ones.
+            if (++removed > ids.size()) compact();
+        }
+
+        /** Rebuilds the index from the live entries, in their current order, with ids 0..n-1. */
+        private void compact() {
+            List<String> liveKeys = new ArrayList<>(ids.size());
+            List<String> liveItems = new ArrayList<>(ids.size());
+            for (int id = 0; id < keys.size(); id++) {
+                if (keys.get(id) == null) continue;
+                liveKeys.add(keys.get(id));
+                liveItems.add(items.get(id));
+            }
+            postings.clear();
+            ids.clear();
+            keys.clear();
+            items.clear();
+            removed = 0;
+            for (int i = 0; i < liveKeys.size(); i++) add(liveKeys.get(i), liveItems.get(i));
+        }
+
+        /** The most similar indexed item by trigram Jaccard similarity, if it clears MIN_SIMILARITY. */
+        String find(String key) {
+            long[] grams = trigrams(key);
+            if (counts.length < keys.size()) counts = new int[keys.size()];
+            List<Integer> touched = new ArrayList<>();
+            for (long g : grams) {
+                int[] list = postings.get(g);
+                if (list == null || list[0] > MAX_POSTINGS) continue;
+                for (int i = 1; i <= list[0]; i++) {
+                    int id = list[i];
+                    if (keys.get(id) != null && counts[id]++ == 0) touched.add(id);
+                }
+            }
+            int best = -1;
+            double bestScore = MIN_SIMILARITY;
+            for (int id : touched) {
+                counts[id] = 0;
+                double score = jaccard(grams, trigrams(keys.get(id)));
+                if (score >= bestScore) {
+                    bestScore = score;
+                    best = id;
+                }
+            }
+            return best < 0 ? null : items.get(best);
+        }
+
+        private static double jaccard(long[] a, long[] b) {
+            int common = 0;
+            for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+                if (a[i] == b[j]) { common++; i++; j++; }
+                else if (a[i] < b[j]) i++;
+                else j++;
+            }
+            return (double) common / (a.length + b.length - common);
+        }
+
+        /** Distinct, sorted trigrams of " key ", each packed as three 16-bit chars. */
+        private static long[] trigrams(String key) {
+            String padded = " " + key + " ";
+            long[] out = new long[Math.max(0, padded.length() - 2)];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+            }
+            Arrays.sort(out);
+            int n = 0;
+            for (int i = 0; i < out.length; i++) if (n == 0 || out[i] != out[n - 1]) out[n++] = out[i];
+            return Arrays.copyOf(out, n);
+        }
+    }
+
+    /** Table model for cross rankings with anchored baseline on row 0. */
+    static class CrossModel extends AbstractTableModel {
+        private final List<Alternative> alts;
+        private final List<Factor> factors;
+        private Matrix data;
+        private final int standard;
+        // release() may run on the caller's thread while the EDT is still writing cells.
+        private volatile boolean released;
+        private int visibleRows;
+        private SwingWorker<?, ?> loader;
+        // Bounding rectangle of cells changed inside beginBatch/endBatch; empty when firstDirtyRow > lastDirtyRow.
+        private int batchDepth;
+        private int firstDirtyRow = Integer.MAX_VALUE;
+        private int lastDirtyRow = -1;
+        private int firstDirtyCol = Integer.MAX_VALUE;
+        private int lastDirtyCol = -1;
+
+        CrossModel(List<Alternative> alts, List<Factor> factors, Matrix data, int standard) {
+            this.alts = alts;
+            this.factors = factors;
+            this.data = data;
+            this.standard = standard;
+            this.visibleRows = alts.size();
+            // anchor the baseline row
+            for (int c = 0; c < factors.size(); c++) store(0, c, standard);
+        }
+
+        @Override public int getRowCount() { return visibleRows; }
+        @Override public int getColumnCount() { return factors.size(); }
+        @Override public String getColumnName(int c) { return factors.get(c).getName(); }
+        @Override public Class<?> getColumnClass(int c) { return Double.class; }
+        @Override public boolean isCellEditable(int r, int c) { return r != 0 && !released; }
+        @Override public Object getValueAt(int r, int c) { return boxRank(data.get(r, c)); }
+        @Override public void setValueAt(Object val, int r, int c) {
+            update(r, c, (val instanceof Number) ? ((Number) val).doubleValue() : standard);
+        }
+
+        /** Stores one rating and reports it: a cell event now, or as part of the enclosing batch. */
+        void update(int r, int c, double v) {
+            if (!put(r, c, v)) return;
+            if (batchDepth == 0) {
+                fireTableCellUpdated(r, c);
+                return;
+            }
+            firstDirtyRow = Math.min(firstDirtyRow, r);
+            lastDirtyRow = Math.max(lastDirtyRow, r);
+            firstDirtyCol = Math.min(firstDirtyCol, c);
+            lastDirtyCol = Math.max(lastDirtyCol, c);
+        }
+
+        /** Suspends per-cell events until the matching {@link #endBatch}; batches nest. */
+        void beginBatch() {
+            batchDepth++;
+        }
+
+        /**
+         * Closes a batch. The outermost one fires a single event covering every cell changed
+         * inside it: one column when only one was touched, otherwise whole rows.
+         */
+        void endBatch() {
+            if (batchDepth == 0 || --batchDepth > 0 || lastDirtyRow < 0) return;
+            int r0 = firstDirtyRow, r1 = lastDirtyRow, c0 = firstDirtyCol, c1 = lastDirtyCol;
+            firstDirtyRow = firstDirtyCol = Integer.MAX_VALUE;
+            lastDirtyRow = lastDirtyCol = -1;
+            if (c0 == c1) fireTableChanged(new TableModelEvent(this, r0, r1, c0));
+            else fireTableRowsUpdated(r0, r1);
+        }
+
+        /** Clamps and stores one rating without firing; false for the anchored row, a NaN or infinity, or after release. */
+        boolean put(int r, int c, double v) {
+            if (r == 0 || released || !Double.isFinite(v)) return false;
+            if (!(v > 0)) v = 0; // also turns -0.0 into 0
+            if (v > MAX_RANK) v = MAX_RANK;
+            store(r, c, v);
+            return true;
+        }
+
+        /** Writes one cell, first widening compact storage if it cannot represent {@code v}. */
+        private void store(int r, int c, double v) {
+            if (!data.holds(v)) data = data.widen();
+            data.set(r, c, v);
+        }
+
+        /** Identifies the study's alternatives and factors; see {@link JPGUIEnhanced#fingerprint}. */
+        long fingerprint() { return JPGUIEnhanced.fingerprint(alts, factors); }
+
+        /** All alternatives, including rows a streaming import has not revealed yet. */
+        int totalRows() { return alts.size(); }
+
+        /** Records {@code worker} as loading into this model until {@link #endStreaming}; release() refuses meanwhile. */
+        void beginLoading(SwingWorker<?, ?> worker) {
+            loader = worker;
+        }
+
+        /** Hides all but the anchored row until the loader reveals them via {@link #revealRows}. */
+        void beginStreaming() {
+            visibleRows = Math.min(1, alts.size());
+            fireTableDataChanged();
+        }
+
+        /** Copies a block of rows out, row-major, in the layout {@link #putRows} takes. */
+        double[] rowsAt(int firstRow, int rowCount) {
+            int cols = factors.size();
+            double[] values = new double[rowCount * cols];
+            for (int r = 0; r < rowCount; r++) {
+                for (int c = 0; c < cols; c++) values[r * cols + c] = data.get(firstRow + r, c);
+            }
+            return values;
+        }
+
+        /** Writes a row-major block of ratings without firing. */
+        void putRows(int firstRow, int rowCount, double[] values) {
+            int cols = factors.size();
+            for (int r = 0; r < rowCount; r++) {
+                for (int c = 0; c < cols; c++) put(firstRow + r, c, values[r * cols + c]);
+            }
+        }
+
+        /** Makes rows below {@code upTo} visible with one rowsInserted event. */
+        void revealRows(int upTo) {
+            if (upTo <= visibleRows) return;
+            int from = visibleRows;
+            visibleRows = upTo;
+            fireTableRowsInserted(from, upTo - 1);
+        }
+
+        /** Shows the rows the load did not reach, then refreshes the loaded ones once so the journal records them. */
+        void endStreaming(int loadedRows) {
+            loader = null;
+            revealRows(alts.size());
+            if (loadedRows > 1) fireTableRowsUpdated(1, loadedRows - 1);
+        }
+
+        /** Cancels a CSV import still in progress; the rows it had loaded get their previous values back. */
+        void stopLoading() {
+            if (loader != null) loader.cancel(true);
+        }
+
+        /** The CSV import still loading into this model, or null; it clears once the loader's done() has run. */
+        SwingWorker<?, ?> loader() { return loader; }
+
+        double rankAt(int r, int c) { return data.get(r, c); }
+        String alternativeName(int r) { return alts.get(r).getDescriptor(); }
+
+        void flush() {
+            data.flush();
+        }
+
+        /**
+         * Transfers the backing storage to the caller; the model must not be used afterwards.
+         * Refuses while a CSV import is streaming in, since the result would be partial.
+         */
+        double[][] release() {
+            if (loader != null) throw new IllegalStateException("a CSV import is still loading into the model");
+            released = true;
+            return data.release();
+        }
+    }
 }
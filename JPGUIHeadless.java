@@ -0,0 +1,174 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-interactive UserInterface for batch runs; never touches AWT or Swing.
+ *
+ * <p>Input comes from the file named by {@code -Djpgui.input} (stdin otherwise) as sections:
+ * <pre>
+ * [alternatives]
+ * Car A
+ * Car B
+ * [factors]
+ * Price
+ * Comfort
+ * [factor-rankings]
+ * 120
+ * [cross-rankings]
+ * 100, 100
+ * 80, 140
+ * </pre>
+ * Blank lines and lines starting with {@code #} are ignored. Missing ranks default to the
+ * standard; as in the wizard, the last factor and the first alternative are anchored at it.
+ * Results go to {@code -Djpgui.output} (stdout otherwise) as tab-separated rank, alternative, score.
+ */
+public class JPGUIHeadless extends UserInterface {
+    private static final int MIN_RANK = 0;
+    private static final int MAX_RANK = 1000;
+
+    private Map<String, List<String>> sections;
+
+    @Override
+    public void showIntroduction() {
+        // Nothing to show in batch mode.
+    }
+
+    @Override
+    public List<Alternative> getAlternatives() {
+        List<String> names = section("alternatives");
+        if (names.isEmpty()) fail("No alternatives entered.");
+        List<Alternative> alts = new ArrayList<>();
+        for (String n : names) alts.add(new Alternative(n));
+        return alts;
+    }
+
+    @Override
+    public List<Factor> getFactors() {
+        List<String> names = section("factors");
+        if (names.isEmpty()) fail("No factors entered.");
+        List<Factor> factors = new ArrayList<>();
+        for (String n : names) factors.add(new Factor(n));
+        return factors;
+    }
+
+    @Override
+    public void getFactorRankings(final List<Factor> factorList, final int standard) {
+        List<String> lines = section("factor-rankings");
+        int baselineIndex = factorList.size() - 1;
+        for (int i = 0; i < factorList.size(); i++) {
+            int rank = standard;
+            if (i != baselineIndex && i < lines.size()) {
+                rank = (int) clamp(parse(lines.get(i), "factor ranking " + (i + 1)));
+            }
+            factorList.get(i).setRank(rank);
+        }
+    }
+
+    @Override
+    public double[][] getCrossRankings(final List<Alternative> alternatives,
+                                       final List<Factor> factors,
+                                       final int standard) {
+        List<String> lines = section("cross-rankings");
+        double[][] data = new double[alternatives.size()][factors.size()];
+        for (int r = 0; r < data.length; r++) {
+            Arrays.fill(data[r], standard);
+            if (r == 0 || r >= lines.size()) continue;
+            String[] cells = lines.get(r).split("[,;\\s]+");
+            for (int c = 0; c < factors.size() && c < cells.length; c++) {
+                data[r][c] = clamp(parse(cells[c], "cross-ranking row " + (r + 1) + ", column " + (c + 1)));
+            }
+        }
+        return data;
+    }
+
+    @Override
+    public void showResults(final List<Alternative> alternatives) {
+        String path = System.getProperty("jpgui.output");
+        if (path == null) {
+            // Flush, never close: System.out belongs to the host.
+            PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            writeResults(out, alternatives);
+            out.flush();
+            return;
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8))) {
+            writeResults(out, alternatives);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeResults(PrintWriter out, List<Alternative> alternatives) {
+        int rank = 1;
+        for (Alternative a : alternatives) {
+            out.print(rank++);
+            out.print('\t');
+            out.print(a.getDescriptor());
+            if (JPGUIEnhanced.ScoreAccessor.available()) {
+                out.print('\t');
+                out.print(String.format("%.4f", JPGUIEnhanced.ScoreAccessor.of(a)));
+            }
+            out.println();
+        }
+    }
+
+    // ---------- Helpers ----------
+
+    private List<String> section(String name) {
+        if (sections == null) sections = readSections();
+        return sections.getOrDefault(name, List.of());
+    }
+
+    private static Map<String, List<String>> readSections() {
+        String path = System.getProperty("jpgui.input");
+        Map<String, List<String>> out = new HashMap<>();
+        try (BufferedReader in = path != null
+                ? Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)
+                : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+            List<String> current = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                if (line.startsWith("[") && line.endsWith("]")) {
+                    current = out.computeIfAbsent(line.substring(1, line.length() - 1).trim(), k -> new ArrayList<>());
+                } else if (current != null) {
+                    current.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    private static double parse(String s, String what) {
+        try {
+            return Double.parseDouble(s.trim());
+        } catch (NumberFormatException e) {
+            fail("Invalid " + what + ": " + s);
+            return 0; // unreachable
+        }
+    }
+
+    private static double clamp(double v) {
+        return Math.max(MIN_RANK, Math.min(MAX_RANK, v));
+    }
+
+    private static void fail(String msg) {
+        System.err.println(msg);
+        System.exit(2);
+    }
+}
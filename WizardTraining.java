@@ -0,0 +1,27 @@
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Training run for the wizard's AppCDS archive, run by {@code mvn package} under
+ * {@code -XX:ArchiveClassesAtExit}; see run-wizard.sh. Loads what the introduction and the
+ * dialogs after it load, then exits. Writes the classpath the archive was dumped with to the
+ * file named by the first argument, since a run may only use the archive when its classpath
+ * starts with exactly that one.
+ */
+public final class WizardTraining {
+    private WizardTraining() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException, InvocationTargetException {
+        if (args.length > 0) {
+            Files.write(Paths.get(args[0]), System.getProperty("java.class.path").getBytes(StandardCharsets.UTF_8));
+        }
+        SwingUtilities.invokeAndWait(JPGUIEnhanced::trainStartup);
+        // The dump happens at exit; the EDT would otherwise keep the JVM alive.
+        System.exit(0);
+    }
+}
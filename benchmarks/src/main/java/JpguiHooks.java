@@ -0,0 +1,107 @@
+import java.util.ArrayList;
+import java.util.List;
+
+import jpgui.bench.Hooks;
+
+/** {@link Hooks} over JPGUIEnhanced; sits in the default package so it can reach the package-private types. */
+public final class JpguiHooks implements Hooks {
+    @Override
+    public List<?> alternatives(int count) {
+        List<Alternative> alts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) alts.add(new Alternative("Alternative " + i));
+        return alts;
+    }
+
+    @Override
+    public Object crossModel(int alternatives, int factors, int standard) {
+        List<Factor> fs = new ArrayList<>(factors);
+        for (int i = 0; i < factors; i++) fs.add(new Factor("Factor " + i));
+        return new JPGUIEnhanced.CrossModel(alts(alternatives(alternatives)), fs,
+                JPGUIEnhanced.Matrix.filled(alternatives, factors, standard), standard);
+    }
+
+    @Override
+    public Object getValueAt(Object crossModel, int row, int col) {
+        return ((JPGUIEnhanced.CrossModel) crossModel).getValueAt(row, col);
+    }
+
+    @Override
+    public void setValueAt(Object crossModel, Object value, int row, int col) {
+        ((JPGUIEnhanced.CrossModel) crossModel).setValueAt(value, row, col);
+    }
+
+    @Override
+    public double[][] release(Object crossModel) {
+        return ((JPGUIEnhanced.CrossModel) crossModel).release();
+    }
+
+    @Override
+    public String esc(String s) {
+        return JPGUIEnhanced.esc(s);
+    }
+
+    @Override
+    public Object sortedResults(List<?> alternatives) {
+        return JPGUIEnhanced.ResultsModel.sorted(alts(alternatives));
+    }
+
+    @Override
+    public Object rankedResults(List<?> alternatives, double[] scores) {
+        return JPGUIEnhanced.ResultsModel.ranked(alts(alternatives), scores);
+    }
+
+    @Override
+    public String resultsHeading(Object results) {
+        return JPGUIEnhanced.resultsHeading((JPGUIEnhanced.ResultsModel) results);
+    }
+
+    @Override
+    public Object resultsValueAt(Object results, int row, int col) {
+        return ((JPGUIEnhanced.ResultsModel) results).getValueAt(row, col);
+    }
+
+    @Override
+    public double accessorScores(List<?> alternatives) {
+        double sum = 0;
+        for (Alternative a : alts(alternatives)) sum += JPGUIEnhanced.ScoreAccessor.of(a);
+        return sum;
+    }
+
+    @Override
+    public double reflectiveScores(List<?> alternatives) {
+        double sum = 0;
+        for (Alternative a : alts(alternatives)) {
+            try {
+                sum += (double) Alternative.class.getMethod("getScore").invoke(a);
+            } catch (Exception ignore) {
+                // the old results page left the score cell blank
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public boolean scoresAvailable() {
+        return JPGUIEnhanced.ScoreAccessor.available();
+    }
+
+    @Override
+    public double[] score(double[][] crossRankings, int[] ranks) {
+        return JPGUIEnhanced.Scorer.score(crossRankings, ranks);
+    }
+
+    @Override
+    public double[] scoreParallel(double[][] crossRankings, int[] ranks, int parallelism) {
+        return JPGUIEnhanced.Scorer.scoreParallel(crossRankings, ranks, parallelism);
+    }
+
+    @Override
+    public int[] topK(double[] scores, int k) {
+        return JPGUIEnhanced.Scorer.topK(scores, k);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Alternative> alts(List<?> alternatives) {
+        return (List<Alternative>) alternatives;
+    }
+}
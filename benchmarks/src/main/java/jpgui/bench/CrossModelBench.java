@@ -0,0 +1,70 @@
+package jpgui.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-cell CrossModel access as the table paints and edits it. Each call moves to the next
+ * cell of a row-major sweep over the editable rows, so the whole matrix is touched.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CrossModelBench {
+    private static final Hooks HOOKS = Hooks.INSTANCE;
+
+    @Param({"100", "10000"})
+    int alternatives;
+
+    @Param({"8", "64"})
+    int factors;
+
+    private Object model;
+    private Double[] values;
+    private int row;
+    private int col;
+    private int next;
+
+    @Setup
+    public void setup() {
+        model = HOOKS.crossModel(alternatives, factors, 100);
+        // What the spinner editor hands back: boxed integral ranks.
+        values = new Double[1001];
+        for (int i = 0; i < values.length; i++) values[i] = (double) i;
+        row = 1;
+    }
+
+    private void advance() {
+        if (++col == factors) {
+            col = 0;
+            if (++row == alternatives) row = 1; // row 0 is the anchored baseline
+        }
+    }
+
+    @Benchmark
+    public Object getValueAt() {
+        advance();
+        return HOOKS.getValueAt(model, row, col);
+    }
+
+    @Benchmark
+    public void setValueAt() {
+        advance();
+        if (++next == values.length) next = 0;
+        HOOKS.setValueAt(model, values[next], row, col);
+    }
+}
@@ -0,0 +1,54 @@
+package jpgui.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Handing the cross-rankings over at the end of getCrossRankings (what copyData used to do).
+ * A release empties the model, so every invocation gets a freshly edited one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class HandOffBench {
+    private static final Hooks HOOKS = Hooks.INSTANCE;
+
+    @Param({"100", "10000"})
+    int alternatives;
+
+    @Param({"8", "64"})
+    int factors;
+
+    /** Integral ratings keep 16-bit storage; a fractional one widens it to doubles. */
+    @Param({"integral", "fractional"})
+    String ratings;
+
+    private Object model;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        model = HOOKS.crossModel(alternatives, factors, 100);
+        double v = ratings.equals("integral") ? 250.0 : 250.5;
+        for (int r = 1; r < alternatives; r += 7) HOOKS.setValueAt(model, v, r, r % factors);
+    }
+
+    @Benchmark
+    public double[][] release() {
+        return HOOKS.release(model);
+    }
+}
@@ -0,0 +1,61 @@
+package jpgui.bench;
+
+import java.util.List;
+
+/**
+ * The JPGUIEnhanced operations under benchmark. JPGUIEnhanced and the course classes live in the
+ * default package, which JMH benchmarks cannot use and named packages cannot import, so the
+ * default-package {@code JpguiHooks} implements this and the benchmarks call through it.
+ * Models and lists are passed around as opaque objects.
+ */
+public interface Hooks {
+    Hooks INSTANCE = load();
+
+    private static Hooks load() {
+        try {
+            return (Hooks) Class.forName("JpguiHooks").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("JpguiHooks is missing from the benchmark classpath", e);
+        }
+    }
+
+    /** {@code count} alternatives named "Alternative 0", "Alternative 1", ... */
+    List<?> alternatives(int count);
+
+    /** A cross-rankings model over fresh alternatives and factors, every cell at {@code standard}. */
+    Object crossModel(int alternatives, int factors, int standard);
+
+    Object getValueAt(Object crossModel, int row, int col);
+
+    void setValueAt(Object crossModel, Object value, int row, int col);
+
+    /** Hands the model's storage over, as getCrossRankings does on OK. */
+    double[][] release(Object crossModel);
+
+    String esc(String s);
+
+    /** Results model for alternatives already sorted best first, as showResults builds it. */
+    Object sortedResults(List<?> alternatives);
+
+    /** Results model ranked lazily by {@code scores}, as showTopResults builds it. */
+    Object rankedResults(List<?> alternatives, double[] scores);
+
+    /** The HTML heading shown above a results table. */
+    String resultsHeading(Object results);
+
+    Object resultsValueAt(Object results, int row, int col);
+
+    /** Sum of getScore() over {@code alternatives} through JPGUIEnhanced.ScoreAccessor. */
+    double accessorScores(List<?> alternatives);
+
+    /** The same sum the way showResults used to read each score: a reflective lookup and invoke per row. */
+    double reflectiveScores(List<?> alternatives);
+
+    boolean scoresAvailable();
+
+    double[] score(double[][] crossRankings, int[] ranks);
+
+    double[] scoreParallel(double[][] crossRankings, int[] ranks, int parallelism);
+
+    int[] topK(double[] scores, int k);
+}
@@ -0,0 +1,73 @@
+package jpgui.bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The results step: escaping names for HTML, the heading, and the cells of the first page of
+ * the results table for sorted (showResults) and score-ranked (showTopResults) input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ResultsBench {
+    private static final Hooks HOOKS = Hooks.INSTANCE;
+    private static final int PAGE = 20;
+
+    @Param({"1000", "100000"})
+    int alternatives;
+
+    private List<?> alts;
+    private double[] scores;
+    private String[] names;
+
+    @Setup
+    public void setup() {
+        alts = HOOKS.alternatives(alternatives);
+        scores = new double[alternatives];
+        Random rnd = new Random(42);
+        for (int i = 0; i < scores.length; i++) scores[i] = rnd.nextDouble() * 1000;
+        names = new String[PAGE];
+        for (int i = 0; i < PAGE; i++) names[i] = i % 4 == 0 ? "R&D <lab> #" + i : "Alternative " + i;
+    }
+
+    @Benchmark
+    public void esc(Blackhole bh) {
+        for (String n : names) bh.consume(HOOKS.esc(n));
+    }
+
+    @Benchmark
+    public void sortedFirstPage(Blackhole bh) {
+        firstPage(HOOKS.sortedResults(alts), bh);
+    }
+
+    @Benchmark
+    public void rankedFirstPage(Blackhole bh) {
+        firstPage(HOOKS.rankedResults(alts, scores), bh);
+    }
+
+    private static void firstPage(Object results, Blackhole bh) {
+        bh.consume(HOOKS.resultsHeading(results));
+        for (int r = 0; r < PAGE; r++) {
+            bh.consume(HOOKS.resultsValueAt(results, r, 0));
+            bh.consume(HOOKS.resultsValueAt(results, r, 1));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package jpgui.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading every alternative's score for the results table: the cached MethodHandle in
+ * ScoreAccessor against the per-row getMethod("getScore").invoke it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ScoreAccessorBench {
+    private static final Hooks HOOKS = Hooks.INSTANCE;
+
+    @Param({"10000", "100000"})
+    int alternatives;
+
+    private List<?> alts;
+
+    @Setup
+    public void setup() {
+        if (!HOOKS.scoresAvailable()) throw new IllegalStateException("Alternative has no getScore() to benchmark");
+        alts = HOOKS.alternatives(alternatives);
+    }
+
+    @Benchmark
+    public double accessor() {
+        return HOOKS.accessorScores(alts);
+    }
+
+    @Benchmark
+    public double reflection() {
+        return HOOKS.reflectiveScores(alts);
+    }
+}
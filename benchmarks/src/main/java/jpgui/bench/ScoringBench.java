@@ -0,0 +1,64 @@
+package jpgui.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Weighted scoring of every alternative, sequential and fork-join, plus top-K selection. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ScoringBench {
+    private static final Hooks HOOKS = Hooks.INSTANCE;
+
+    @Param({"1000", "100000"})
+    int alternatives;
+
+    @Param({"8", "64"})
+    int factors;
+
+    private double[][] cross;
+    private int[] ranks;
+    private double[] scores;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(42);
+        cross = new double[alternatives][factors];
+        for (double[] row : cross) {
+            for (int c = 0; c < factors; c++) row[c] = rnd.nextInt(1001);
+        }
+        ranks = new int[factors];
+        for (int c = 0; c < factors; c++) ranks[c] = 1 + rnd.nextInt(1000);
+        scores = HOOKS.score(cross, ranks);
+    }
+
+    @Benchmark
+    public double[] score() {
+        return HOOKS.score(cross, ranks);
+    }
+
+    @Benchmark
+    public double[] scoreParallel() {
+        return HOOKS.scoreParallel(cross, ranks, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Benchmark
+    public int[] topK() {
+        return HOOKS.topK(scores, 20);
+    }
+}
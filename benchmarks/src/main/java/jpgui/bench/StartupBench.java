@@ -0,0 +1,45 @@
+package jpgui.bench;
+
+import java.awt.Font;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.UIManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cold cost of loading JPGUIEnhanced, as a batch wrapper does before scoring. Every measurement
+ * is the first call in a fresh JVM. {@code eagerLookAndFeel} adds what the static initializer
+ * used to do (install the system L&F, create nine fonts), which applyLookAndFeel now defers
+ * to the first dialog.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 20, jvmArgsAppend = "-Djava.awt.headless=true")
+public class StartupBench {
+    private static final String[] FONT_KEYS = {
+        "OptionPane.messageFont", "OptionPane.buttonFont", "Label.font", "TextField.font",
+        "List.font", "Table.font", "TableHeader.font", "Spinner.font", "Button.font"
+    };
+
+    @Benchmark
+    public Class<?> classInit() throws ClassNotFoundException {
+        return Class.forName("JPGUIEnhanced");
+    }
+
+    @Benchmark
+    public Class<?> eagerLookAndFeel() throws Exception {
+        Class<?> c = Class.forName("JPGUIEnhanced");
+        UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+        for (String key : FONT_KEYS) UIManager.put(key, new Font("SansSerif", Font.PLAIN, 13));
+        return c;
+    }
+}
@@ -0,0 +1,30 @@
+#!/bin/sh
+# Launches the decision wizard with the AppCDS archive that `mvn package` dumps
+# from a training run (WizardTraining) of the classes it loads at startup:
+# Swing, the look-and-feel and JPGUIEnhanced.
+#
+#   ./run-wizard.sh <classpath> <main-class> [args...]
+#
+# <classpath> holds the host program. The archive and the classpath it was
+# dumped with are found next to this script, in target/, whatever the working
+# directory; the dumped classpath goes first, as the JVM requires. Rebuild with
+# `mvn package` after changing the sources or the course jar. Without an
+# archive the wizard still starts, just without it. Needs JDK 13 or newer.
+set -e
+
+if [ $# -lt 2 ]; then
+    echo "usage: $0 <classpath> <main-class> [args...]" >&2
+    exit 2
+fi
+CP=$1
+MAIN=$2
+shift 2
+DIR=$(CDPATH= cd -- "$(dirname -- "$0")" && pwd)
+ARCHIVE=${JPGUI_CDS_ARCHIVE:-$DIR/target/jpgui-wizard.jsa}
+DUMPED_CP=${ARCHIVE%.jsa}.classpath
+
+if [ -f "$ARCHIVE" ] && [ -f "$DUMPED_CP" ]; then
+    exec java -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto -cp "$(cat "$DUMPED_CP"):$CP" "$MAIN" "$@"
+fi
+echo "$0: no AppCDS archive at $ARCHIVE (run mvn package); starting without it" >&2
+exec java -cp "$CP" "$MAIN" "$@"
@@ -0,0 +1,164 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CsvLoaderTest {
+    private static final int ROWS = 1000; // several loader blocks
+    private static final int STANDARD = 100;
+
+    @TempDir
+    Path dir;
+
+    static JPGUIEnhanced.CrossModel model() {
+        List<Alternative> alts = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) alts.add(new Alternative("Alternative " + i));
+        List<Factor> factors = List.of(new Factor("Cost"), new Factor("Comfort"));
+        return new JPGUIEnhanced.CrossModel(alts, factors,
+                JPGUIEnhanced.Matrix.filled(ROWS, factors.size(), STANDARD), STANDARD);
+    }
+
+    /** Every editable cell set to a value of its own, saved as CSV. */
+    private Path ratingsFile(double[][] expected) throws IOException {
+        JPGUIEnhanced.CrossModel source = model();
+        for (int r = 1; r < ROWS; r++) {
+            for (int c = 0; c < 2; c++) source.update(r, c, (r * 7 + c) % (STANDARD * 10));
+        }
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < 2; c++) expected[r][c] = source.rankAt(r, c);
+        }
+        Path file = dir.resolve("ratings.csv");
+        JPGUIEnhanced.MatrixFile.save(file, source, new int[] {30, STANDARD});
+        return file;
+    }
+
+    static double[][] cells(JPGUIEnhanced.CrossModel m) {
+        double[][] out = new double[m.totalRows()][m.getColumnCount()];
+        for (int r = 0; r < out.length; r++) {
+            for (int c = 0; c < out[r].length; c++) out[r][c] = m.rankAt(r, c);
+        }
+        return out;
+    }
+
+    /** Starts a loader on the EDT and waits for its onDone; returns the failure, or null. */
+    private static Exception load(Path file, JPGUIEnhanced.CrossModel m, int[] ranks, boolean stop) throws Exception {
+        CompletableFuture<Exception> done = new CompletableFuture<>();
+        SwingUtilities.invokeAndWait(() -> {
+            new JPGUIEnhanced.CsvLoader(file, m, ranks, failure -> done.complete(failure)).start();
+            if (stop) m.stopLoading();
+        });
+        Exception failure = done.get(30, TimeUnit.SECONDS);
+        SwingUtilities.invokeAndWait(() -> { }); // let done() finish before the test reads the model
+        return failure;
+    }
+
+    @Test
+    void revealsRowsInOrderAndRefreshesThemWithOneEvent() throws Exception {
+        double[][] expected = new double[ROWS][2];
+        Path file = ratingsFile(expected);
+        JPGUIEnhanced.CrossModel m = model();
+        List<TableModelEvent> events = new ArrayList<>();
+        List<String> problems = new ArrayList<>();
+        m.addTableModelListener(e -> {
+            events.add(e);
+            if (e.getType() != TableModelEvent.INSERT) return;
+            // rows are revealed only once their values are in
+            for (int r = e.getFirstRow(); r <= e.getLastRow(); r++) {
+                if (m.rankAt(r, 0) != expected[r][0] || m.rankAt(r, 1) != expected[r][1]) problems.add("row " + r);
+            }
+        });
+        int[] ranks = {1, STANDARD};
+
+        assertNull(load(file, m, ranks, false));
+
+        assertEquals(List.of(), problems);
+        assertArrayEquals(expected, cells(m));
+        assertArrayEquals(new int[] {30, STANDARD}, ranks);
+        assertEquals(ROWS, m.getRowCount());
+        assertNull(m.loader());
+
+        // One table refresh hides the rows, inserts reveal them contiguously, one update ends the load.
+        assertEquals(TableModelEvent.UPDATE, events.get(0).getType());
+        assertEquals(Integer.MAX_VALUE, events.get(0).getLastRow());
+        int next = 1;
+        int i = 1;
+        for (; i < events.size() && events.get(i).getType() == TableModelEvent.INSERT; i++) {
+            assertEquals(next, events.get(i).getFirstRow());
+            next = events.get(i).getLastRow() + 1;
+        }
+        assertEquals(ROWS, next);
+        assertEquals(i + 1, events.size(), "exactly one event after the rows are revealed");
+        TableModelEvent refresh = events.get(i);
+        assertEquals(TableModelEvent.UPDATE, refresh.getType());
+        assertEquals(1, refresh.getFirstRow());
+        assertEquals(ROWS - 1, refresh.getLastRow());
+        assertEquals(TableModelEvent.ALL_COLUMNS, refresh.getColumn());
+    }
+
+    @Test
+    void aBadRowLateInTheFileUndoesTheRowsAlreadyLoaded() throws Exception {
+        Path file = ratingsFile(new double[ROWS][2]);
+        Files.writeString(file, Files.readString(file).replace("Alternative 900,", "Alternative 901,"));
+        JPGUIEnhanced.CrossModel m = model();
+        m.update(5, 0, 42);
+        double[][] before = cells(m);
+        int[] ranks = {1, STANDARD};
+
+        Exception failure = load(file, m, ranks, false);
+
+        assertInstanceOf(IOException.class, failure);
+        assertTrue(failure.getMessage().contains("Alternative 900"), failure.getMessage());
+        assertArrayEquals(before, cells(m));
+        assertArrayEquals(new int[] {1, STANDARD}, ranks);
+        assertEquals(ROWS, m.getRowCount());
+    }
+
+    @Test
+    void stoppingUndoesTheLoadAndReportsIt() throws Exception {
+        Path file = ratingsFile(new double[ROWS][2]);
+        JPGUIEnhanced.CrossModel m = model();
+        double[][] before = cells(m);
+
+        Exception failure = load(file, m, new int[] {1, STANDARD}, true);
+
+        assertInstanceOf(CancellationException.class, failure);
+        assertArrayEquals(before, cells(m));
+        assertEquals(ROWS, m.getRowCount());
+        assertNull(m.loader());
+    }
+
+    @Test
+    void releaseRefusesWhileLoading() throws Exception {
+        Path file = ratingsFile(new double[ROWS][2]);
+        JPGUIEnhanced.CrossModel m = model();
+        CompletableFuture<Exception> done = new CompletableFuture<>();
+        List<Throwable> thrown = new ArrayList<>();
+
+        SwingUtilities.invokeAndWait(() -> {
+            new JPGUIEnhanced.CsvLoader(file, m, new int[2], failure -> done.complete(failure)).start();
+            thrown.add(assertThrows(IllegalStateException.class, m::release));
+        });
+        assertNull(done.get(30, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(1, thrown.size());
+        assertEquals(ROWS, m.release().length);
+    }
+}
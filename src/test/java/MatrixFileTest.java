@@ -0,0 +1,191 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MatrixFileTest {
+    private static final int STANDARD = 100;
+    private static final List<String> NAMES = List.of("Plain", "Comma, inside", "Say \"hi\"", "Last");
+
+    @TempDir
+    Path dir;
+
+    static JPGUIEnhanced.CrossModel model(List<String> alternatives) {
+        List<Alternative> alts = new ArrayList<>();
+        for (String name : alternatives) alts.add(new Alternative(name));
+        List<Factor> factors = List.of(new Factor("Cost"), new Factor("Speed, \"top\""), new Factor("Comfort"));
+        return new JPGUIEnhanced.CrossModel(alts, factors,
+                JPGUIEnhanced.Matrix.filled(alts.size(), factors.size(), STANDARD), STANDARD);
+    }
+
+    /** A model whose every editable cell differs from the standard, with a fractional one. */
+    static JPGUIEnhanced.CrossModel rated() {
+        JPGUIEnhanced.CrossModel m = model(NAMES);
+        for (int r = 1; r < m.totalRows(); r++) {
+            for (int c = 0; c < m.getColumnCount(); c++) m.update(r, c, 10 * r + c);
+        }
+        m.update(2, 1, 12.5);
+        return m;
+    }
+
+    static double[][] cells(JPGUIEnhanced.CrossModel m) {
+        double[][] out = new double[m.totalRows()][m.getColumnCount()];
+        for (int r = 0; r < out.length; r++) {
+            for (int c = 0; c < out[r].length; c++) out[r][c] = m.rankAt(r, c);
+        }
+        return out;
+    }
+
+    private void assertRoundTrip(String fileName) throws IOException {
+        JPGUIEnhanced.CrossModel source = rated();
+        Path file = dir.resolve(fileName);
+        JPGUIEnhanced.MatrixFile.save(file, source, new int[] {30, 70, STANDARD});
+
+        JPGUIEnhanced.CrossModel target = model(NAMES);
+        int[] ranks = {1, 1, STANDARD};
+        JPGUIEnhanced.MatrixFile.load(file, target, ranks);
+
+        assertArrayEquals(cells(source), cells(target));
+        assertArrayEquals(new int[] {30, 70, STANDARD}, ranks);
+    }
+
+    @Test
+    void csvRoundTripKeepsQuotedNamesAndValues() throws IOException {
+        assertRoundTrip("ratings.csv");
+    }
+
+    @Test
+    void binaryRoundTripKeepsValues() throws IOException {
+        assertRoundTrip("ratings.jpgm");
+    }
+
+    @Test
+    void csvReadsCrlfBlankLinesAndExponents() throws IOException {
+        Path file = dir.resolve("hand.csv");
+        Files.writeString(file, "Alternative,Cost,\"Speed, \"\"top\"\"\",Comfort\r\n"
+                + "\r\n"
+                + "(importance),3e1,70,100\r\n"
+                + "Plain,100,100,100\r\n"
+                + "\r\n"
+                + "\"Comma, inside\",1.5e2,2E1,+7\r\n"
+                + "\"Say \"\"hi\"\"\", 0.25 ,1e-1,-0\r\n"
+                + "Last,1000,12.5,9", StandardCharsets.UTF_8);
+        JPGUIEnhanced.CrossModel m = model(NAMES);
+        int[] ranks = {1, 1, STANDARD};
+
+        JPGUIEnhanced.MatrixFile.load(file, m, ranks);
+
+        assertArrayEquals(new double[][] {
+            {100, 100, 100},
+            {150, 20, 7},
+            {0.25, 0.1, 0},
+            {1000, 12.5, 9},
+        }, cells(m));
+        assertArrayEquals(new int[] {30, 70, STANDARD}, ranks);
+    }
+
+    @Test
+    void importKeepsTheBaselineFactorsImportance() throws IOException {
+        Path file = dir.resolve("baseline.jpgm");
+        JPGUIEnhanced.MatrixFile.save(file, rated(), new int[] {30, 70, 5});
+        int[] ranks = {1, 1, STANDARD};
+
+        JPGUIEnhanced.MatrixFile.load(file, model(NAMES), ranks);
+
+        assertArrayEquals(new int[] {30, 70, STANDARD}, ranks);
+    }
+
+    /** Loading {@code file} must fail and leave both the ratings and the importances as they were. */
+    private static void assertRejectedUnchanged(Path file, String message) {
+        JPGUIEnhanced.CrossModel m = model(NAMES);
+        m.update(1, 0, 42);
+        double[][] before = cells(m);
+        int[] ranks = {1, 2, STANDARD};
+
+        IOException e = assertThrows(IOException.class, () -> JPGUIEnhanced.MatrixFile.load(file, m, ranks));
+
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+        assertArrayEquals(before, cells(m));
+        assertArrayEquals(new int[] {1, 2, STANDARD}, ranks);
+    }
+
+    @Test
+    void truncatedBinaryChangesNothing() throws IOException {
+        Path file = dir.resolve("cut.jpgm");
+        JPGUIEnhanced.MatrixFile.save(file, rated(), new int[] {30, 70, STANDARD});
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - Double.BYTES));
+
+        assertRejectedUnchanged(file, "truncated");
+    }
+
+    @Test
+    void truncatedCsvChangesNothing() throws IOException {
+        Path file = dir.resolve("cut.csv");
+        JPGUIEnhanced.MatrixFile.save(file, rated(), new int[] {30, 70, STANDARD});
+        String text = Files.readString(file);
+        Files.writeString(file, text.substring(0, text.indexOf("Last,")));
+
+        assertRejectedUnchanged(file, "lists 3 alternatives");
+    }
+
+    @Test
+    void csvWithAlternativesInAnotherOrderChangesNothing() throws IOException {
+        Path file = dir.resolve("order.csv");
+        JPGUIEnhanced.MatrixFile.save(file, rated(), new int[] {30, 70, STANDARD});
+        List<String> lines = new ArrayList<>(Files.readAllLines(file));
+        lines.add(3, lines.remove(4)); // swap the second and third alternatives
+        Files.write(file, lines);
+
+        assertRejectedUnchanged(file, "expected alternative");
+    }
+
+    @Test
+    void csvWithAnExtraRowChangesNothing() throws IOException {
+        Path file = dir.resolve("extra.csv");
+        JPGUIEnhanced.MatrixFile.save(file, rated(), new int[] {30, 70, STANDARD});
+        Files.writeString(file, Files.readString(file) + "Extra,1,2,3\n");
+
+        assertRejectedUnchanged(file, "more alternatives");
+    }
+
+    @Test
+    void csvWithANonFiniteRatingChangesNothing() throws IOException {
+        Path file = dir.resolve("nan.csv");
+        JPGUIEnhanced.MatrixFile.save(file, rated(), new int[] {30, 70, STANDARD});
+        Files.writeString(file, Files.readString(file).replace("Last,30,", "Last,NaN,"));
+
+        assertRejectedUnchanged(file, "not a finite rating");
+    }
+
+    @Test
+    void binaryFromAnotherStudyChangesNothing() throws IOException {
+        Path file = dir.resolve("other.jpgm");
+        List<String> others = new ArrayList<>(NAMES);
+        others.set(3, "Someone else's");
+        JPGUIEnhanced.MatrixFile.save(file, model(others), new int[] {30, 70, STANDARD});
+
+        assertRejectedUnchanged(file, "another study");
+    }
+
+    @Test
+    void putRejectsNonFiniteRatings() {
+        JPGUIEnhanced.CrossModel m = model(NAMES);
+
+        assertFalse(m.put(1, 0, Double.NaN));
+        assertFalse(m.put(1, 0, Double.POSITIVE_INFINITY));
+        assertEquals(STANDARD, m.rankAt(1, 0));
+    }
+}